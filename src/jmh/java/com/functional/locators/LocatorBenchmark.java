@@ -0,0 +1,62 @@
+package com.functional.locators;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openqa.selenium.By;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of building locators: compiling every XPath the page objects declare, the cached
+ * {@link Locators#xpath} lookup that later calls hit, and plain {@code By} construction.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class LocatorBenchmark {
+    private String[] pageXPaths;
+
+    @Setup(Level.Trial)
+    public void loadPageLocators() throws ClassNotFoundException {
+        Locators.loadPageLocators();
+        pageXPaths = Locators.getCompiled().keySet().toArray(new String[0]);
+    }
+
+    @Benchmark
+    public void translatePageXPaths(Blackhole blackhole) {
+        for (String xpath : pageXPaths) {
+            try {
+                blackhole.consume(XPathToCss.translate(xpath));
+            } catch (UntranslatableXPathException e) {
+                blackhole.consume(e);
+            }
+        }
+    }
+
+    @Benchmark
+    public void cachedPageLocators(Blackhole blackhole) {
+        for (String xpath : pageXPaths) {
+            blackhole.consume(Locators.xpath(xpath));
+        }
+    }
+
+    @Benchmark
+    public void constructByXPath(Blackhole blackhole) {
+        for (String xpath : pageXPaths) {
+            blackhole.consume(By.xpath(xpath));
+        }
+    }
+}
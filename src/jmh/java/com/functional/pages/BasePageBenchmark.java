@@ -0,0 +1,93 @@
+package com.functional.pages;
+
+import com.functional.driver.DriverFactory;
+import com.functional.locators.Locators;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openqa.selenium.By;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.chrome.ChromeDriver;
+import org.openqa.selenium.chrome.ChromeOptions;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Round-trip cost of the BasePage primitives and a page object query against the saved
+ * search results page in headless Chrome, so changes to the wait and element handling can
+ * be compared without the network in the way. Needs Chrome on the machine running it.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class BasePageBenchmark {
+    private static final By searchBox = Locators.css("#twotabsearchtextbox");
+    private static final By addToCartButton = Locators.css("button[name='submit.addToCart']");
+    private static final By firstResultTitle = Locators.css(".s-result-item h2 span");
+
+    private WebDriver driver;
+    private AmazonHomePage homePage;
+
+    @Setup(Level.Trial)
+    public void openFixture() {
+        ChromeOptions options = DriverFactory.defaultChromeOptions();
+        options.addArguments("--headless=new");
+        options.addArguments("--window-size=1920,1080");
+        driver = new ChromeDriver(options);
+        driver.manage().timeouts().implicitlyWait(Duration.ZERO);
+        driver.get(getClass().getResource("/fixtures/search-results.html").toString());
+        homePage = new AmazonHomePage(driver);
+    }
+
+    @TearDown(Level.Trial)
+    public void quit() {
+        if (driver != null) {
+            driver.quit();
+        }
+    }
+
+    @Benchmark
+    public WebElement waitForElement() {
+        return homePage.waitForElement(firstResultTitle);
+    }
+
+    @Benchmark
+    public void click() {
+        homePage.click(addToCartButton);
+    }
+
+    @Benchmark
+    public void sendKeys() {
+        homePage.sendKeys(searchBox, "wireless mouse");
+    }
+
+    @Benchmark
+    public String getText() {
+        return homePage.getText(firstResultTitle);
+    }
+
+    @Benchmark
+    public int getSearchResultsCount() {
+        return homePage.getSearchResultsCount();
+    }
+
+    @Benchmark
+    public List<SearchResult> getSearchResults() {
+        return homePage.getSearchResults();
+    }
+}
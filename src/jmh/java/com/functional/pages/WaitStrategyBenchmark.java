@@ -0,0 +1,104 @@
+package com.functional.pages;
+
+import com.functional.driver.DriverFactory;
+import com.functional.locators.Locators;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openqa.selenium.By;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.chrome.ChromeDriver;
+import org.openqa.selenium.chrome.ChromeOptions;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Time until an element that turns visible {@value #REVEAL_MILLIS} ms after setup is found,
+ * by the DOM observer wait ({@code awaitVisible}) and by WebDriverWait polling
+ * ({@code waitForElement}). Anything above {@value #REVEAL_MILLIS} ms is detection latency.
+ * The element is revealed either by a class change, which is a DOM mutation, or by a CSS
+ * animation ending, which is not. Needs Chrome on the machine running it.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class WaitStrategyBenchmark {
+    private static final long REVEAL_MILLIS = 200;
+    private static final By revealed = Locators.css("#bench-reveal");
+    private static final String REVEAL_SCRIPT =
+            "var mode = arguments[0], delay = arguments[1];"
+            + "var old = document.getElementById('bench-reveal');"
+            + "if (old) { old.remove(); }"
+            + "if (!document.getElementById('bench-style')) {"
+            + "  var style = document.createElement('style');"
+            + "  style.id = 'bench-style';"
+            + "  style.textContent = '#bench-reveal { opacity: 0 } #bench-reveal.shown { opacity: 1 }'"
+            + "      + ' @keyframes bench-reveal { to { opacity: 1 } }';"
+            + "  document.head.appendChild(style);"
+            + "}"
+            + "var el = document.createElement('div');"
+            + "el.id = 'bench-reveal';"
+            + "el.textContent = 'revealed';"
+            + "if (mode === 'animation') {"
+            + "  el.style.animation = 'bench-reveal 1ms linear ' + delay + 'ms forwards';"
+            + "} else {"
+            + "  setTimeout(function() { el.className = 'shown'; }, delay);"
+            + "}"
+            + "document.body.appendChild(el);";
+
+    @Param({"class", "animation"})
+    public String reveal;
+
+    private WebDriver driver;
+    private AmazonHomePage homePage;
+
+    @Setup(Level.Trial)
+    public void openFixture() {
+        ChromeOptions options = DriverFactory.defaultChromeOptions();
+        options.addArguments("--headless=new");
+        options.addArguments("--window-size=1920,1080");
+        driver = new ChromeDriver(options);
+        driver.manage().timeouts().implicitlyWait(Duration.ZERO);
+        driver.manage().timeouts().scriptTimeout(Duration.ofSeconds(60));
+        driver.get(getClass().getResource("/fixtures/search-results.html").toString());
+        homePage = new AmazonHomePage(driver);
+    }
+
+    @Setup(Level.Invocation)
+    public void scheduleReveal() {
+        ((JavascriptExecutor) driver).executeScript(REVEAL_SCRIPT, reveal, REVEAL_MILLIS);
+    }
+
+    @TearDown(Level.Trial)
+    public void quit() {
+        if (driver != null) {
+            driver.quit();
+        }
+    }
+
+    @Benchmark
+    public WebElement domObserver() {
+        return homePage.awaitVisible(revealed);
+    }
+
+    @Benchmark
+    public WebElement webDriverWaitPolling() {
+        return homePage.waitForElement(revealed);
+    }
+}
@@ -1,42 +1,478 @@
 package com.functional.config;
 
-import java.io.FileInputStream;
+import com.functional.fixtures.FixtureServer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
 import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
 import java.util.Properties;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.function.Function;
 
-public class ConfigManager {
-    private static final Properties properties = new Properties();
-    private static ConfigManager instance;
+/**
+ * Immutable framework configuration, built once when the class is loaded and shared by every
+ * thread. Values are layered, later layers winning:
+ * <ol>
+ *     <li>{@code config.properties} on the classpath</li>
+ *     <li>{@code config-<profile>.properties} on the classpath, when a profile is selected with
+ *     the {@code config.profile} system property or the {@code CONFIG_PROFILE} variable</li>
+ *     <li>environment variables, named after the key in upper case with dots as underscores
+ *     ({@code TIMEOUT_SECONDS} for {@code timeout.seconds})</li>
+ *     <li>system properties ({@code -Dtimeout.seconds=20})</li>
+ * </ol>
+ * Environment variables and system properties only override keys the framework knows about or
+ * that an earlier layer defines, plus any {@code budget.*} entry. Typed values are parsed up
+ * front, so a malformed value fails at startup rather than in the middle of a wait.
+ */
+public final class ConfigManager {
+    private static final Logger logger = LoggerFactory.getLogger(ConfigManager.class);
+    private static final String BASE_RESOURCE = "config.properties";
+    private static final String PROFILE_PROPERTY = "config.profile";
+    private static final String PROFILE_VARIABLE = "CONFIG_PROFILE";
+    private static final Set<String> KNOWN_KEYS = Set.of(
+            "base.url", "browser", "timeout.seconds", "wait.polling.millis",
+            "screenshot.path", "screenshot.writer.threads", "screenshot.queue.capacity",
+            "allure.attachment.max.kb", "allure.attachment.compress",
+            "driver.pool.size", "driver.lease.timeout.seconds", "data.provider.thread.count",
+            "data.provider.chunk.size",
+            "trace.commands", "page.metrics.enabled", "budget.mode",
+            "retry.step.max.attempts", "retry.test.budget", "retry.test.max",
+            "shard.index", "shard.total", "shard.history",
+            "fixture.mode", "fixture.port", "fixture.dir", "fixture.latency.millis",
+            "driver.fast.startup", "driver.binary.cache", "driver.profile.dir",
+            "session.reuse.enabled", "session.store.dir", "session.ttl.minutes",
+            "workflow.checkpoint.dir", "workflow.resume", "workflow.resume.attempts",
+            "network.filter.enabled", "network.filter.deny", "network.filter.allow", "network.filter.block.types");
+    private static final Set<String> OPEN_PREFIXES = Set.of("budget.");
 
-    private ConfigManager() {
-        try {
-            FileInputStream fis = new FileInputStream("src/test/resources/config.properties");
-            properties.load(fis);
-        } catch (IOException e) {
-            throw new RuntimeException("Failed to load config.properties", e);
+    private static final ConfigManager INSTANCE = load(System.getProperties(), System.getenv());
+
+    private final Map<String, String> properties;
+    private final String profile;
+    private final String baseUrl;
+    private final String upstreamUrl;
+    private final String browser;
+    private final int timeout;
+    private final int waitPollingMillis;
+    private final String screenshotPath;
+    private final int screenshotWriterThreads;
+    private final int screenshotQueueCapacity;
+    private final long attachmentMaxBytes;
+    private final boolean attachmentCompressionEnabled;
+    private final int driverPoolSize;
+    private final int driverLeaseTimeout;
+    private final int dataProviderThreadCount;
+    private final int dataProviderChunkSize;
+    private final int shardIndex;
+    private final int shardTotal;
+    private final List<Path> shardHistory;
+    private final FixtureServer.Mode fixtureMode;
+    private final int fixturePort;
+    private final String fixtureDirectory;
+    private final int fixtureLatencyMillis;
+    private final boolean networkFilterEnabled;
+    private final boolean fastStartupEnabled;
+    private final boolean sessionReuseEnabled;
+    private final String sessionStoreDirectory;
+    private final int sessionTtlMinutes;
+    private final String workflowCheckpointDirectory;
+    private final boolean workflowResumeEnabled;
+    private final int workflowResumeAttempts;
+    private final String driverBinaryCache;
+    private final String chromeProfileDirectory;
+    private final List<String> networkDenyList;
+    private final List<String> networkAllowList;
+    private final List<String> networkBlockedTypes;
+    private final int stepRetryAttempts;
+    private final int testRetryBudget;
+    private final int testRetryLimit;
+    private final boolean commandTracingEnabled;
+    private final boolean pageLoadCaptureEnabled;
+
+    private ConfigManager(Map<String, String> properties, String profile) {
+        this.properties = Collections.unmodifiableMap(new TreeMap<>(properties));
+        this.profile = profile;
+        this.upstreamUrl = string("base.url", null);
+        this.fixtureMode = typed("fixture.mode", FixtureServer.Mode.OFF,
+                value -> FixtureServer.Mode.valueOf(value.toUpperCase(Locale.ROOT)));
+        this.fixturePort = typed("fixture.port", 8089, Integer::parseInt);
+        this.fixtureDirectory = string("fixture.dir", "src/test/resources/fixtures/recorded");
+        this.fixtureLatencyMillis = typed("fixture.latency.millis", 0, Integer::parseInt);
+        // With the fixture server on, every page object talks to it instead of the live site
+        this.baseUrl = fixtureMode == FixtureServer.Mode.OFF ? upstreamUrl : "http://localhost:" + fixturePort;
+        this.browser = string("browser", "chrome");
+        this.timeout = typed("timeout.seconds", 10, Integer::parseInt);
+        this.waitPollingMillis = typed("wait.polling.millis", 250, Integer::parseInt);
+        this.screenshotPath = string("screenshot.path", "target/screenshots");
+        this.screenshotWriterThreads = typed("screenshot.writer.threads", 2, Integer::parseInt);
+        this.screenshotQueueCapacity = typed("screenshot.queue.capacity", 16, Integer::parseInt);
+        this.attachmentMaxBytes = typed("allure.attachment.max.kb", 1024L, Long::parseLong) * 1024;
+        this.attachmentCompressionEnabled = typed("allure.attachment.compress", false, ConfigManager::parseBoolean);
+        this.driverPoolSize = typed("driver.pool.size", Runtime.getRuntime().availableProcessors(), Integer::parseInt);
+        this.driverLeaseTimeout = typed("driver.lease.timeout.seconds", 120, Integer::parseInt);
+        this.dataProviderThreadCount = typed("data.provider.thread.count", 0, Integer::parseInt);
+        this.dataProviderChunkSize = typed("data.provider.chunk.size", 500, Integer::parseInt);
+        this.shardIndex = typed("shard.index", 0, Integer::parseInt);
+        this.shardTotal = typed("shard.total", 1, Integer::parseInt);
+        this.shardHistory = list("shard.history", "").stream().map(Paths::get).toList();
+        if (shardTotal > 1 && shardHistory.isEmpty()) {
+            // Each shard overwrites its own surefire reports, so no default would be the same for all of them
+            throw new IllegalStateException("shard.total=" + shardTotal + " needs shard.history: testng-results.xml"
+                    + " of an earlier run, kept where no shard writes, so every shard plans the same split");
         }
+        this.sessionReuseEnabled = typed("session.reuse.enabled", true, ConfigManager::parseBoolean);
+        this.sessionStoreDirectory = string("session.store.dir", "target/sessions");
+        this.sessionTtlMinutes = typed("session.ttl.minutes", 60, Integer::parseInt);
+        this.workflowCheckpointDirectory = string("workflow.checkpoint.dir", "target/workflow-checkpoints");
+        this.workflowResumeEnabled = typed("workflow.resume", false, ConfigManager::parseBoolean);
+        this.workflowResumeAttempts = typed("workflow.resume.attempts", 1, Integer::parseInt);
+        this.fastStartupEnabled = typed("driver.fast.startup", true, ConfigManager::parseBoolean);
+        this.driverBinaryCache = string("driver.binary.cache", "target/chromedriver.properties");
+        this.chromeProfileDirectory = string("driver.profile.dir", "target/chrome-profiles");
+        this.networkFilterEnabled = typed("network.filter.enabled", false, ConfigManager::parseBoolean);
+        this.networkDenyList = list("network.filter.deny", "");
+        this.networkAllowList = list("network.filter.allow", "");
+        this.networkBlockedTypes = list("network.filter.block.types", "");
+        this.stepRetryAttempts = typed("retry.step.max.attempts", 3, Integer::parseInt);
+        this.testRetryBudget = typed("retry.test.budget", 5, Integer::parseInt);
+        this.testRetryLimit = typed("retry.test.max", 1, Integer::parseInt);
+        this.commandTracingEnabled = typed("trace.commands", true, ConfigManager::parseBoolean);
+        this.pageLoadCaptureEnabled = typed("page.metrics.enabled", true, ConfigManager::parseBoolean);
     }
 
     public static ConfigManager getInstance() {
-        if (instance == null) {
-            instance = new ConfigManager();
+        return INSTANCE;
+    }
+
+    /**
+     * Builds a configuration from the classpath layers and the given system properties and
+     * environment. {@link #getInstance()} uses the JVM's own; tests can pass their own.
+     */
+    public static ConfigManager load(Properties systemProperties, Map<String, String> environment) {
+        Map<String, String> values = new LinkedHashMap<>();
+        if (!readResource(BASE_RESOURCE, values)) {
+            logger.warn("{} not found on the classpath, using built-in defaults", BASE_RESOURCE);
+        }
+
+        String profile = systemProperties.getProperty(PROFILE_PROPERTY, environment.get(PROFILE_VARIABLE));
+        if (profile != null && !profile.isBlank()) {
+            profile = profile.trim();
+            String resource = "config-" + profile + ".properties";
+            if (!readResource(resource, values)) {
+                throw new IllegalStateException("Configuration profile '" + profile + "' selected but "
+                        + resource + " is not on the classpath");
+            }
+        } else {
+            profile = null;
+        }
+
+        Set<String> overridable = new HashSet<>(KNOWN_KEYS);
+        overridable.addAll(values.keySet());
+        for (String key : overridable) {
+            String value = environment.get(key.toUpperCase(Locale.ROOT).replace('.', '_'));
+            if (value != null) {
+                values.put(key, value);
+            }
+        }
+        for (String key : systemProperties.stringPropertyNames()) {
+            if (overridable.contains(key) || OPEN_PREFIXES.stream().anyMatch(key::startsWith)) {
+                values.put(key, systemProperties.getProperty(key));
+            }
+        }
+
+        ConfigManager config = new ConfigManager(values, profile);
+        logger.debug("Loaded configuration{}: {} keys", profile == null ? "" : " (profile " + profile + ")",
+                values.size());
+        return config;
+    }
+
+    private static boolean readResource(String name, Map<String, String> values) {
+        try (InputStream in = ConfigManager.class.getClassLoader().getResourceAsStream(name)) {
+            if (in == null) {
+                return false;
+            }
+            Properties layer = new Properties();
+            layer.load(in);
+            layer.stringPropertyNames().forEach(key -> values.put(key, layer.getProperty(key)));
+            return true;
+        } catch (IOException e) {
+            throw new IllegalStateException("Failed to read " + name, e);
+        }
+    }
+
+    private String string(String key, String defaultValue) {
+        String value = properties.get(key);
+        return value == null || value.isBlank() ? defaultValue : value.trim();
+    }
+
+    private List<String> list(String key, String defaultValue) {
+        return Arrays.stream(string(key, defaultValue).split(","))
+                .map(String::trim)
+                .filter(value -> !value.isEmpty())
+                .toList();
+    }
+
+    private <T> T typed(String key, T defaultValue, Function<String, T> parser) {
+        String value = string(key, null);
+        if (value == null) {
+            return defaultValue;
+        }
+        try {
+            return parser.apply(value);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalStateException("Invalid configuration value " + key + "=" + value, e);
+        }
+    }
+
+    private static boolean parseBoolean(String value) {
+        if (value.equalsIgnoreCase("true") || value.equalsIgnoreCase("false")) {
+            return Boolean.parseBoolean(value);
         }
-        return instance;
+        throw new IllegalArgumentException("expected true or false");
     }
 
     public String getProperty(String key) {
-        return properties.getProperty(key);
+        return properties.get(key);
+    }
+
+    public Set<String> getPropertyNames() {
+        return properties.keySet();
+    }
+
+    /**
+     * Every entry whose key starts with the prefix, keyed by the remainder of the key.
+     */
+    public Map<String, String> getPropertiesWithPrefix(String prefix) {
+        Map<String, String> matches = new TreeMap<>();
+        properties.forEach((key, value) -> {
+            if (key.startsWith(prefix)) {
+                matches.put(key.substring(prefix.length()), value);
+            }
+        });
+        return matches;
+    }
+
+    /**
+     * The active configuration profile, or null when only the base file is used.
+     */
+    public String getProfile() {
+        return profile;
+    }
+
+    public boolean isCommandTracingEnabled() {
+        return commandTracingEnabled;
     }
 
+    public boolean isPageLoadCaptureEnabled() {
+        return pageLoadCaptureEnabled;
+    }
+
+    /**
+     * The site the tests drive: the local fixture server when {@code fixture.mode} is record or
+     * replay, otherwise {@code base.url}.
+     */
     public String getBaseUrl() {
-        return getProperty("base.url");
+        return baseUrl;
     }
 
     public int getTimeout() {
-        return Integer.parseInt(getProperty("timeout.seconds"));
+        return timeout;
+    }
+
+    public int getWaitPollingMillis() {
+        return waitPollingMillis;
+    }
+
+    public String getScreenshotPath() {
+        return screenshotPath;
+    }
+
+    public int getScreenshotWriterThreads() {
+        return screenshotWriterThreads;
+    }
+
+    public int getScreenshotQueueCapacity() {
+        return screenshotQueueCapacity;
     }
 
     public String getBrowser() {
-        return getProperty("browser");
+        return browser;
+    }
+
+    public int getDriverPoolSize() {
+        return driverPoolSize;
+    }
+
+    public int getDriverLeaseTimeout() {
+        return driverLeaseTimeout;
+    }
+
+    /**
+     * Threads for parallel data providers; falls back to the given default when not set.
+     */
+    public int getDataProviderThreadCount(int defaultCount) {
+        return dataProviderThreadCount > 0 ? dataProviderThreadCount : defaultCount;
+    }
+
+    /**
+     * Most rows a streaming data provider holds in memory at once.
+     */
+    public int getDataProviderChunkSize() {
+        return dataProviderChunkSize;
+    }
+
+    public int getShardIndex() {
+        return shardIndex;
+    }
+
+    public int getShardTotal() {
+        return shardTotal;
+    }
+
+    /**
+     * testng-results.xml files, or directories holding one, to take method durations from.
+     * Required when sharding; empty otherwise unless configured.
+     */
+    public List<Path> getShardHistory() {
+        return shardHistory;
+    }
+
+    public FixtureServer.Mode getFixtureMode() {
+        return fixtureMode;
+    }
+
+    public int getFixturePort() {
+        return fixturePort;
+    }
+
+    public String getFixtureDirectory() {
+        return fixtureDirectory;
+    }
+
+    public int getFixtureLatencyMillis() {
+        return fixtureLatencyMillis;
+    }
+
+    /**
+     * The live site ({@code base.url}), which the fixture server records from.
+     */
+    public String getFixtureUpstreamUrl() {
+        return upstreamUrl;
+    }
+
+    public boolean isNetworkFilterEnabled() {
+        return networkFilterEnabled;
+    }
+
+    /**
+     * URL patterns ({@code *} wildcards) the browser must never load.
+     */
+    public List<String> getNetworkDenyList() {
+        return networkDenyList;
+    }
+
+    /**
+     * URL patterns exempt from resource-type blocking.
+     */
+    public List<String> getNetworkAllowList() {
+        return networkAllowList;
+    }
+
+    /**
+     * DevTools resource types (Image, Font, Media...) blocked unless allow-listed.
+     */
+    public List<String> getNetworkBlockedTypes() {
+        return networkBlockedTypes;
+    }
+
+    public boolean isFastStartupEnabled() {
+        return fastStartupEnabled;
+    }
+
+    public String getDriverBinaryCache() {
+        return driverBinaryCache;
+    }
+
+    public String getChromeProfileDirectory() {
+        return chromeProfileDirectory;
+    }
+
+    public boolean isSessionReuseEnabled() {
+        return sessionReuseEnabled;
+    }
+
+    public String getSessionStoreDirectory() {
+        return sessionStoreDirectory;
+    }
+
+    public int getSessionTtlMinutes() {
+        return sessionTtlMinutes;
+    }
+
+    /**
+     * Largest Allure attachment written per file; longer text is truncated and larger
+     * screenshots are replaced by a note pointing at the saved file.
+     */
+    public long getAttachmentMaxBytes() {
+        return attachmentMaxBytes;
+    }
+
+    /**
+     * Whether screenshots are attached as JPEG instead of PNG.
+     */
+    public boolean isAttachmentCompressionEnabled() {
+        return attachmentCompressionEnabled;
+    }
+
+    /**
+     * Attempts a page-object primitive gets when it fails for a transient reason, including
+     * the first.
+     */
+    public int getStepRetryAttempts() {
+        return stepRetryAttempts;
+    }
+
+    /**
+     * In-place step retries allowed per test across all its actions.
+     */
+    public int getTestRetryBudget() {
+        return testRetryBudget;
+    }
+
+    /**
+     * Times a whole test is rerun after a transient or lost-session failure.
+     */
+    public int getTestRetryLimit() {
+        return testRetryLimit;
+    }
+
+    public String getWorkflowCheckpointDirectory() {
+        return workflowCheckpointDirectory;
+    }
+
+    /**
+     * Whether a workflow run starts each path from the deepest checkpoint a previous failed
+     * run left on disk.
+     */
+    public boolean isWorkflowResumeEnabled() {
+        return workflowResumeEnabled;
+    }
+
+    /**
+     * Times a failed workflow segment is rerun from its starting checkpoint in a new session.
+     */
+    public int getWorkflowResumeAttempts() {
+        return workflowResumeAttempts;
     }
-} 
\ No newline at end of file
+}
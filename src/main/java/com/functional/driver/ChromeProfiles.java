@@ -0,0 +1,116 @@
+package com.functional.driver;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.Comparator;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+/**
+ * Chrome user-data directories cloned from a warmed-up template. The template is created once
+ * (and kept across runs until {@code mvn clean}) by letting Chrome start on an empty directory,
+ * which does the first-run work: profile creation, component setup, preference files. Each
+ * session then gets a private copy, so Chrome starts from a ready profile and parallel
+ * sessions never share one. Files are copied rather than hard-linked because Chrome updates
+ * some of them in place, which would write through to the template.
+ */
+final class ChromeProfiles {
+    private static final Logger logger = LoggerFactory.getLogger(ChromeProfiles.class);
+    // Lock files and caches that are either tied to the process that wrote them or worthless to copy
+    private static final Set<String> SKIPPED = Set.of(
+            "SingletonLock", "SingletonSocket", "SingletonCookie", "Crashpad", "Cache", "GPUCache",
+            "ShaderCache", "GrShaderCache", "DawnCache", "Service Worker");
+
+    private final Path root;
+    private final Path template;
+
+    ChromeProfiles(Path root) {
+        this.root = root;
+        this.template = root.resolve("template");
+    }
+
+    /**
+     * Creates the template if it does not exist yet, using the given action to run Chrome on it.
+     */
+    synchronized void ensureTemplate(Consumer<Path> warmUp) {
+        if (Files.isDirectory(template.resolve("Default"))) {
+            return;
+        }
+        long start = System.nanoTime();
+        try {
+            deleteRecursively(template);
+            Files.createDirectories(template);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to create Chrome profile template " + template, e);
+        }
+        warmUp.accept(template);
+        logger.info("Created Chrome profile template {} in {} ms", template, (System.nanoTime() - start) / 1_000_000);
+    }
+
+    /**
+     * Copies the template to a new directory for one session.
+     */
+    Path newSessionProfile() {
+        Path target = root.resolve("session-" + UUID.randomUUID());
+        try {
+            Files.walkFileTree(template, new SimpleFileVisitor<>() {
+                @Override
+                public FileVisitResult preVisitDirectory(Path dir, BasicFileAttributes attrs) throws IOException {
+                    if (!dir.equals(template) && SKIPPED.contains(dir.getFileName().toString())) {
+                        return FileVisitResult.SKIP_SUBTREE;
+                    }
+                    Files.createDirectories(target.resolve(template.relativize(dir)));
+                    return FileVisitResult.CONTINUE;
+                }
+
+                @Override
+                public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) throws IOException {
+                    if (attrs.isRegularFile() && !SKIPPED.contains(file.getFileName().toString())) {
+                        Files.copy(file, target.resolve(template.relativize(file)));
+                    }
+                    return FileVisitResult.CONTINUE;
+                }
+            });
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to copy Chrome profile template to " + target, e);
+        }
+        return target;
+    }
+
+    /**
+     * Deletes every per-session copy, keeping the template for the next run.
+     */
+    void deleteSessionProfiles() {
+        if (!Files.isDirectory(root)) {
+            return;
+        }
+        try (Stream<Path> children = Files.list(root)) {
+            for (Path child : children.filter(path -> path.getFileName().toString().startsWith("session-")).toList()) {
+                deleteRecursively(child);
+            }
+        } catch (IOException e) {
+            logger.warn("Failed to delete Chrome session profiles under {}", root, e);
+        }
+    }
+
+    private static void deleteRecursively(Path path) throws IOException {
+        if (!Files.exists(path)) {
+            return;
+        }
+        try (Stream<Path> files = Files.walk(path)) {
+            for (Path file : files.sorted(Comparator.reverseOrder()).toList()) {
+                Files.deleteIfExists(file);
+            }
+        }
+    }
+}
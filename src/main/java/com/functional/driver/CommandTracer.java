@@ -0,0 +1,84 @@
+package com.functional.driver;
+
+import com.functional.metrics.CommandMetrics;
+import com.functional.pages.BasePage;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.support.events.WebDriverListener;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Set;
+
+/**
+ * Counts and times every WebDriver command that goes over the wire and attributes it to the
+ * page-object method that issued it, found by walking the calling thread's stack. Commands
+ * issued outside a page object are attributed to the nearest framework caller. Installed by
+ * {@link DriverFactory} through an EventFiringDecorator.
+ */
+public class CommandTracer implements WebDriverListener {
+    private static final String FRAMEWORK_PACKAGE = "com.functional.";
+    private static final int MAX_STACK_DEPTH = 64;
+
+    // Calls that return local helper objects or answer without contacting the driver
+    private static final Set<String> LOCAL_METHODS = Set.of(
+            "manage", "navigate", "switchTo", "timeouts", "window", "logs",
+            "getWrappedDriver", "getWrappedElement", "toString", "hashCode", "equals");
+
+    private static final StackWalker walker = StackWalker.getInstance(StackWalker.Option.RETAIN_CLASS_REFERENCE);
+
+    private final ThreadLocal<Deque<Long>> startTimes = ThreadLocal.withInitial(ArrayDeque::new);
+
+    @Override
+    public void beforeAnyCall(Object target, Method method, Object[] args) {
+        if (!LOCAL_METHODS.contains(method.getName())) {
+            startTimes.get().push(System.nanoTime());
+        }
+    }
+
+    @Override
+    public void afterAnyCall(Object target, Method method, Object[] args, Object result) {
+        finish(target, method);
+    }
+
+    @Override
+    public void onError(Object target, Method method, Object[] args, InvocationTargetException e) {
+        finish(target, method);
+    }
+
+    private void finish(Object target, Method method) {
+        if (LOCAL_METHODS.contains(method.getName())) {
+            return;
+        }
+        Long start = startTimes.get().poll();
+        if (start == null) {
+            return;
+        }
+        String command = target instanceof WebElement ? "element." + method.getName() : method.getName();
+        CommandMetrics.record(caller(), command, System.nanoTime() - start);
+    }
+
+    /**
+     * The innermost page-object method on the stack, or the nearest framework frame when the
+     * command did not come from a page object.
+     */
+    private static String caller() {
+        return walker.walk(frames -> {
+            String fallback = null;
+            for (StackWalker.StackFrame frame : (Iterable<StackWalker.StackFrame>) frames.limit(MAX_STACK_DEPTH)::iterator) {
+                Class<?> type = frame.getDeclaringClass();
+                if (!type.getName().startsWith(FRAMEWORK_PACKAGE) || type == CommandTracer.class) {
+                    continue;
+                }
+                if (BasePage.class.isAssignableFrom(type) && type != BasePage.class) {
+                    return type.getSimpleName() + "." + frame.getMethodName();
+                }
+                if (fallback == null) {
+                    fallback = type.getSimpleName() + "." + frame.getMethodName();
+                }
+            }
+            return fallback != null ? fallback : "unattributed";
+        });
+    }
+}
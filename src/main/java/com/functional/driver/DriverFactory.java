@@ -0,0 +1,231 @@
+package com.functional.driver;
+
+import com.functional.config.ConfigManager;
+import com.functional.metrics.StepMetrics;
+import com.functional.metrics.StepTimer;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.chrome.ChromeDriver;
+import org.openqa.selenium.chrome.ChromeDriverService;
+import org.openqa.selenium.chrome.ChromeOptions;
+import org.openqa.selenium.remote.Augmenter;
+import org.openqa.selenium.remote.RemoteWebDriver;
+import org.openqa.selenium.remote.service.DriverFinder;
+import org.openqa.selenium.support.events.EventFiringDecorator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.List;
+import java.util.Properties;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Creates the Chrome sessions handed out by {@link DriverPool}. With {@code driver.fast.startup}
+ * on, every session shares one chromedriver process, the driver and browser binaries are
+ * resolved by Selenium Manager once and cached on disk, and Chrome starts from a copy of a
+ * warmed-up profile (see {@link ChromeProfiles}) instead of a cold one.
+ */
+public final class DriverFactory {
+    private static final Logger logger = LoggerFactory.getLogger(DriverFactory.class);
+    private static final CommandTracer tracer = new CommandTracer();
+    private static final String DRIVER_PATH = "driver.path";
+    private static final String BROWSER_PATH = "browser.path";
+
+    private static ChromeDriverService sharedService;
+    private static Properties binaries;
+    private static ChromeProfiles profiles;
+    private static final List<Runnable> beforeShutdown = new CopyOnWriteArrayList<>();
+
+    static {
+        // One hook, so sessions always quit before the chromedriver they talk to is stopped
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+            for (Runnable task : beforeShutdown) {
+                try {
+                    task.run();
+                } catch (RuntimeException e) {
+                    logger.warn("Shutdown task failed", e);
+                }
+            }
+            shutdown();
+        }, "driver-shutdown"));
+    }
+
+    private DriverFactory() {
+    }
+
+    public static ChromeOptions defaultChromeOptions() {
+        ChromeOptions options = new ChromeOptions();
+        options.addArguments("--start-maximized");
+        options.addArguments("--disable-notifications");
+        options.addArguments("--disable-popup-blocking");
+        options.addArguments("--remote-allow-origins=*");
+        options.addArguments("--no-first-run");
+        options.addArguments("--no-default-browser-check");
+        return options;
+    }
+
+    public static WebDriver createChromeDriver() {
+        return createChromeDriver(ConfigManager.getInstance().isFastStartupEnabled());
+    }
+
+    /**
+     * Starts a configured session; with {@code fastStartup} false every session gets its own
+     * chromedriver process and a cold profile, which is what the startup benchmark compares to.
+     */
+    public static WebDriver createChromeDriver(boolean fastStartup) {
+        ConfigManager config = ConfigManager.getInstance();
+        WebDriver driver;
+        long start = System.nanoTime();
+        try (StepTimer ignored = StepMetrics.start("DriverFactory.createChromeDriver")) {
+            driver = fastStartup ? startFromTemplate(config) : new ChromeDriver(defaultChromeOptions());
+        }
+
+        // All waits are explicit (see WaitPolicy); an implicit wait would make every absent-element check block
+        driver.manage().timeouts().implicitlyWait(Duration.ZERO);
+        driver.manage().timeouts().pageLoadTimeout(Duration.ofSeconds(30));
+        // Upper bound for the DOM observer waits in BasePage, which time out on their own first
+        driver.manage().timeouts().scriptTimeout(Duration.ofSeconds(60));
+
+        NetworkFilter filter = NetworkFilter.install(driver, config);
+        logger.debug("Started ChromeDriver session in {} ms", (System.nanoTime() - start) / 1_000_000);
+
+        WebDriver session = config.isCommandTracingEnabled()
+                ? new EventFiringDecorator<>(WebDriver.class, tracer).decorate(driver)
+                : driver;
+        if (filter != null) {
+            NetworkFilter.register(session, filter);
+        }
+        return session;
+    }
+
+    private static WebDriver startFromTemplate(ConfigManager config) {
+        ChromeDriverService service = sharedService(config);
+        ChromeProfiles templates = profiles(config);
+        templates.ensureTemplate(dir -> {
+            ChromeOptions warmUp = withBinary(defaultChromeOptions());
+            warmUp.addArguments("--user-data-dir=" + dir.toAbsolutePath());
+            attach(service, warmUp).quit();
+        });
+        ChromeOptions options = withBinary(defaultChromeOptions());
+        options.addArguments("--user-data-dir=" + templates.newSessionProfile().toAbsolutePath());
+        return attach(service, options);
+    }
+
+    /**
+     * Opens a session on the running chromedriver. A {@code ChromeDriver} built on a service
+     * owns it and stops it on {@code quit()}, which would kill every other session sharing it;
+     * a {@code RemoteWebDriver} on the service URL only ends its own session. The
+     * {@link Augmenter} adds back the CDP and DevTools interfaces that ChromeDriver implements.
+     */
+    private static WebDriver attach(ChromeDriverService service, ChromeOptions options) {
+        return new Augmenter().augment(new RemoteWebDriver(service.getUrl(), options));
+    }
+
+    private static ChromeOptions withBinary(ChromeOptions options) {
+        String browser = binaries.getProperty(BROWSER_PATH);
+        if (browser != null && !browser.isEmpty()) {
+            // With both binaries known, Selenium Manager is not consulted again
+            options.setBinary(browser);
+        }
+        return options;
+    }
+
+    private static synchronized ChromeDriverService sharedService(ConfigManager config) {
+        if (sharedService == null) {
+            binaries = resolveBinaries(Paths.get(config.getDriverBinaryCache()));
+            sharedService = new ChromeDriverService.Builder()
+                    .usingDriverExecutable(new File(binaries.getProperty(DRIVER_PATH)))
+                    .usingAnyFreePort()
+                    .build();
+            try {
+                sharedService.start();
+            } catch (IOException e) {
+                sharedService = null;
+                throw new UncheckedIOException("Failed to start chromedriver", e);
+            }
+            logger.info("Started shared chromedriver at {}", sharedService.getUrl());
+        }
+        return sharedService;
+    }
+
+    private static synchronized ChromeProfiles profiles(ConfigManager config) {
+        if (profiles == null) {
+            profiles = new ChromeProfiles(Paths.get(config.getChromeProfileDirectory()));
+        }
+        return profiles;
+    }
+
+    /**
+     * Driver and browser paths from the cache file, or from Selenium Manager (then cached)
+     * when the file is missing or points at binaries that no longer exist.
+     */
+    private static Properties resolveBinaries(Path cache) {
+        Properties cached = new Properties();
+        if (Files.isRegularFile(cache)) {
+            try (InputStream in = Files.newInputStream(cache)) {
+                cached.load(in);
+            } catch (IOException e) {
+                logger.warn("Ignoring unreadable driver cache {}", cache, e);
+            }
+            String driver = cached.getProperty(DRIVER_PATH);
+            String browser = cached.getProperty(BROWSER_PATH, "");
+            if (driver != null && Files.isExecutable(Paths.get(driver))
+                    && (browser.isEmpty() || Files.exists(Paths.get(browser)))) {
+                logger.debug("Using cached chromedriver {}", driver);
+                return cached;
+            }
+        }
+
+        long start = System.nanoTime();
+        DriverFinder finder = new DriverFinder(ChromeDriverService.createDefaultService(), defaultChromeOptions());
+        Properties resolved = new Properties();
+        resolved.setProperty(DRIVER_PATH, finder.getDriverPath());
+        resolved.setProperty(BROWSER_PATH, finder.hasBrowserPath() ? finder.getBrowserPath() : "");
+        logger.info("Resolved chromedriver {} in {} ms", finder.getDriverPath(), (System.nanoTime() - start) / 1_000_000);
+        try {
+            Files.createDirectories(cache.toAbsolutePath().getParent());
+            try (OutputStream out = Files.newOutputStream(cache)) {
+                resolved.store(out, "Resolved by Selenium Manager; delete to resolve again");
+            }
+        } catch (IOException e) {
+            logger.warn("Could not cache driver paths in {}", cache, e);
+        }
+        return resolved;
+    }
+
+    /**
+     * True while the shared chromedriver started by a fast-startup session is still running.
+     */
+    public static synchronized boolean isSharedServiceRunning() {
+        return sharedService != null && sharedService.isRunning();
+    }
+
+    /**
+     * Runs the task in the JVM shutdown hook, ahead of {@link #shutdown()}.
+     */
+    static void runBeforeShutdown(Runnable task) {
+        beforeShutdown.add(task);
+    }
+
+    /**
+     * Stops the shared chromedriver and deletes the per-session profile copies. Sessions
+     * still open lose their driver, so call this after the pool has shut down.
+     */
+    public static synchronized void shutdown() {
+        if (sharedService != null) {
+            sharedService.stop();
+            sharedService = null;
+        }
+        if (profiles != null) {
+            profiles.deleteSessionProfiles();
+        }
+    }
+}
@@ -0,0 +1,38 @@
+package com.functional.driver;
+
+import org.openqa.selenium.WebDriver;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * A browser session borrowed from the {@link DriverPool}. Closing the lease resets the
+ * session and hands it back to the pool; closing it twice is a no-op.
+ */
+public final class DriverLease implements AutoCloseable {
+    private final DriverPool pool;
+    private final WebDriver driver;
+    private final AtomicBoolean released = new AtomicBoolean();
+
+    DriverLease(DriverPool pool, WebDriver driver) {
+        this.pool = pool;
+        this.driver = driver;
+    }
+
+    public WebDriver getDriver() {
+        if (released.get()) {
+            throw new IllegalStateException("Driver lease has already been released");
+        }
+        return driver;
+    }
+
+    public boolean isReleased() {
+        return released.get();
+    }
+
+    @Override
+    public void close() {
+        if (released.compareAndSet(false, true)) {
+            pool.giveBack(driver);
+        }
+    }
+}
@@ -0,0 +1,293 @@
+package com.functional.driver;
+
+import com.functional.config.ConfigManager;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
+import org.openqa.selenium.chromium.HasCdp;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Bounded pool of reusable browser sessions. Each test thread leases one session through
+ * {@link #acquire()}, which is reset (cookies, storage, extra windows) when it is released
+ * and replaced if the browser behind it has crashed.
+ */
+public final class DriverPool {
+    private static final Logger logger = LoggerFactory.getLogger(DriverPool.class);
+    private static final String CLEAR_STORAGE_SCRIPT =
+            "try { window.localStorage.clear(); window.sessionStorage.clear(); } catch (e) {}";
+    private static final String ORIGIN_STORAGE_TYPES =
+            "local_storage,indexeddb,websql,cache_storage,service_workers,file_systems";
+
+    private static final DriverPool INSTANCE = new DriverPool(
+            DriverFactory::createChromeDriver,
+            ConfigManager.getInstance().getDriverPoolSize(),
+            Duration.ofSeconds(ConfigManager.getInstance().getDriverLeaseTimeout()));
+
+    static {
+        DriverFactory.runBeforeShutdown(INSTANCE::shutdown);
+    }
+
+    private final Supplier<WebDriver> factory;
+    private final int maxSize;
+    private final Duration leaseTimeout;
+    private final Semaphore permits;
+    private final Deque<WebDriver> idle = new ConcurrentLinkedDeque<>();
+    private final Set<WebDriver> sessions = ConcurrentHashMap.newKeySet();
+    private final ThreadLocal<DriverLease> current = new ThreadLocal<>();
+    private volatile boolean shutdown;
+
+    public DriverPool(Supplier<WebDriver> factory, int maxSize, Duration leaseTimeout) {
+        if (maxSize < 1) {
+            throw new IllegalArgumentException("Driver pool size must be at least 1, got " + maxSize);
+        }
+        this.factory = factory;
+        this.maxSize = maxSize;
+        this.leaseTimeout = leaseTimeout;
+        this.permits = new Semaphore(maxSize, true);
+        logger.debug("Initialized DriverPool with max size {}", maxSize);
+    }
+
+    public static DriverPool getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Returns the session bound to the calling thread, leasing one from the pool if the
+     * thread does not hold one yet.
+     */
+    public DriverLease acquire() {
+        DriverLease lease = current.get();
+        if (lease == null || lease.isReleased()) {
+            lease = lease();
+            current.set(lease);
+        }
+        return lease;
+    }
+
+    /**
+     * Returns the driver bound to the calling thread, or {@code null} if it holds no lease.
+     */
+    public WebDriver current() {
+        DriverLease lease = current.get();
+        return lease == null || lease.isReleased() ? null : lease.getDriver();
+    }
+
+    /**
+     * Hands the calling thread's session back to the pool.
+     */
+    public void release() {
+        DriverLease lease = current.get();
+        current.remove();
+        if (lease != null) {
+            lease.close();
+        }
+    }
+
+    /**
+     * Leases a session that is not bound to the calling thread; the caller must close it.
+     */
+    public DriverLease lease() {
+        if (shutdown) {
+            throw new IllegalStateException("Driver pool has been shut down");
+        }
+        try {
+            if (!permits.tryAcquire(leaseTimeout.toMillis(), TimeUnit.MILLISECONDS)) {
+                throw new IllegalStateException("No WebDriver session became available within " + leaseTimeout
+                        + " (pool size " + maxSize + ")");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for a WebDriver session", e);
+        }
+        return leaseAcquired();
+    }
+
+    /**
+     * Leases a session only if the pool has room for one right now, without waiting for
+     * another holder to give one back; returns {@code null} otherwise.
+     */
+    public DriverLease tryLease() {
+        if (shutdown || !permits.tryAcquire()) {
+            return null;
+        }
+        return leaseAcquired();
+    }
+
+    private DriverLease leaseAcquired() {
+        try {
+            WebDriver driver = checkOut();
+            NetworkFilter filter = NetworkFilter.forDriver(driver);
+            if (filter != null) {
+                // Blocked-request counts describe one lease, i.e. one test
+                filter.resetCounters();
+            }
+            return new DriverLease(this, driver);
+        } catch (RuntimeException e) {
+            permits.release();
+            throw e;
+        }
+    }
+
+    private WebDriver checkOut() {
+        WebDriver driver;
+        while ((driver = idle.pollFirst()) != null) {
+            if (isAlive(driver)) {
+                logger.trace("Reusing pooled WebDriver session");
+                return driver;
+            }
+            logger.warn("Discarding crashed WebDriver session");
+            discard(driver);
+        }
+        driver = factory.get();
+        sessions.add(driver);
+        logger.debug("Created WebDriver session {} of {}", sessions.size(), maxSize);
+        return driver;
+    }
+
+    void giveBack(WebDriver driver) {
+        try {
+            if (!shutdown && reset(driver)) {
+                idle.offerFirst(driver);
+            } else {
+                discard(driver);
+            }
+        } finally {
+            permits.release();
+        }
+    }
+
+    private boolean isAlive(WebDriver driver) {
+        try {
+            return !driver.getWindowHandles().isEmpty();
+        } catch (WebDriverException e) {
+            return false;
+        }
+    }
+
+    private boolean reset(WebDriver driver) {
+        try {
+            // Each window's history names the origins it visited; read it before the window is gone
+            Set<String> origins = new LinkedHashSet<>();
+            List<String> handles = new ArrayList<>(driver.getWindowHandles());
+            for (int i = 1; i < handles.size(); i++) {
+                driver.switchTo().window(handles.get(i));
+                origins.addAll(visitedOrigins(driver));
+                driver.close();
+            }
+            driver.switchTo().window(handles.get(0));
+            origins.addAll(visitedOrigins(driver));
+            clearState(driver, origins);
+            driver.get("about:blank");
+            return true;
+        } catch (WebDriverException e) {
+            logger.warn("Failed to reset WebDriver session, it will be replaced", e);
+            return false;
+        }
+    }
+
+    /**
+     * Deletes cookies and storage for every origin the current window has visited, not only
+     * the one currently loaded. The session storage of other origins in the open tab is out of
+     * reach of DevTools and survives; everything else a test can leave behind does not. Also
+     * used by callers that hand one session from path to path themselves.
+     */
+    public static void clearState(WebDriver driver) {
+        clearState(driver, visitedOrigins(driver));
+    }
+
+    private static void clearState(WebDriver driver, Set<String> origins) {
+        ((JavascriptExecutor) driver).executeScript(CLEAR_STORAGE_SCRIPT);
+        if (driver instanceof HasCdp) {
+            HasCdp cdp = (HasCdp) driver;
+            cdp.executeCdpCommand("Network.clearBrowserCookies", Map.of());
+            for (String origin : origins) {
+                cdp.executeCdpCommand("Storage.clearDataForOrigin",
+                        Map.of("origin", origin, "storageTypes", ORIGIN_STORAGE_TYPES));
+            }
+        } else {
+            driver.manage().deleteAllCookies();
+        }
+    }
+
+    /**
+     * The http(s) origins in the current window's navigation history, including pages reached
+     * by clicks and redirects. Empty for drivers without DevTools.
+     */
+    static Set<String> visitedOrigins(WebDriver driver) {
+        Set<String> origins = new LinkedHashSet<>();
+        if (!(driver instanceof HasCdp)) {
+            return origins;
+        }
+        Object entries = ((HasCdp) driver).executeCdpCommand("Page.getNavigationHistory", Map.of()).get("entries");
+        if (entries instanceof List<?>) {
+            for (Object entry : (List<?>) entries) {
+                if (entry instanceof Map<?, ?>) {
+                    String origin = origin(((Map<?, ?>) entry).get("url"));
+                    if (origin != null) {
+                        origins.add(origin);
+                    }
+                }
+            }
+        }
+        return origins;
+    }
+
+    private static String origin(Object url) {
+        try {
+            URI uri = URI.create(String.valueOf(url));
+            String scheme = uri.getScheme();
+            if (uri.getHost() == null || !("http".equals(scheme) || "https".equals(scheme))) {
+                return null;
+            }
+            return scheme + "://" + uri.getHost() + (uri.getPort() == -1 ? "" : ":" + uri.getPort());
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    private void discard(WebDriver driver) {
+        sessions.remove(driver);
+        NetworkFilter.forget(driver);
+        try {
+            driver.quit();
+        } catch (WebDriverException e) {
+            logger.debug("Ignoring error while quitting discarded session", e);
+        }
+    }
+
+    public int getMaxSize() {
+        return maxSize;
+    }
+
+    public int getSessionCount() {
+        return sessions.size();
+    }
+
+    /**
+     * Quits every session created by this pool. Leases still outstanding are quit too.
+     */
+    public void shutdown() {
+        shutdown = true;
+        idle.clear();
+        for (WebDriver driver : List.copyOf(sessions)) {
+            discard(driver);
+        }
+        logger.debug("DriverPool shut down");
+    }
+}
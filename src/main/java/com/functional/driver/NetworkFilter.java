@@ -0,0 +1,212 @@
+package com.functional.driver;
+
+import com.functional.config.ConfigManager;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.devtools.Command;
+import org.openqa.selenium.devtools.DevTools;
+import org.openqa.selenium.devtools.Event;
+import org.openqa.selenium.devtools.HasDevTools;
+import org.openqa.selenium.json.Json;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.regex.Pattern;
+
+/**
+ * Stops a Chrome session from loading what the page objects never look at. URLs matching the
+ * deny list are blocked inside the browser with {@code Network.setBlockedURLs}; requests of
+ * the configured resource types (images, fonts, media...) are paused with the Fetch domain and
+ * failed unless they match the allow list. Blocked requests are counted per resource type, and
+ * the bytes saved are estimated from the average size of responses of that type actually
+ * loaded by the session (or a fixed guess until one has been seen). Counters are per lease, so
+ * they describe the current test; suite totals accumulate across sessions.
+ */
+public final class NetworkFilter {
+    private static final Logger logger = LoggerFactory.getLogger(NetworkFilter.class);
+    private static final Map<WebDriver, NetworkFilter> filters = new ConcurrentHashMap<>();
+    private static final Map<String, LongAdder> suiteBlocked = new ConcurrentHashMap<>();
+    private static final LongAdder suiteBytesSaved = new LongAdder();
+    private static final Map<String, Long> TYPICAL_BYTES = Map.of(
+            "Image", 30_000L, "Font", 40_000L, "Media", 250_000L, "Script", 50_000L, "Stylesheet", 20_000L);
+    private static final long OTHER_BYTES = 10_000L;
+    private static final int MAX_TRACKED_REQUESTS = 10_000;
+
+    private final List<Pattern> allow;
+    private final Map<String, LongAdder> blocked = new ConcurrentHashMap<>();
+    private final LongAdder bytesSaved = new LongAdder();
+    private final Map<String, long[]> loadedBytes = new ConcurrentHashMap<>();
+    private final Map<String, String> requestTypes = new ConcurrentHashMap<>();
+
+    private NetworkFilter(List<String> allowPatterns) {
+        this.allow = allowPatterns.stream().map(NetworkFilter::globToRegex).toList();
+    }
+
+    /**
+     * Installs the filter configured under {@code network.filter.*} on the session, if enabled
+     * and the browser speaks the DevTools protocol. Returns null when nothing was installed;
+     * otherwise the caller registers it against the driver handed out to tests.
+     */
+    static NetworkFilter install(WebDriver driver, ConfigManager config) {
+        if (!config.isNetworkFilterEnabled() || !(driver instanceof HasDevTools)) {
+            return null;
+        }
+        NetworkFilter filter = new NetworkFilter(config.getNetworkAllowList());
+        try {
+            DevTools devTools = ((HasDevTools) driver).getDevTools();
+            devTools.createSessionIfThereIsNotOne();
+            filter.attach(devTools, config.getNetworkDenyList(), config.getNetworkBlockedTypes());
+        } catch (RuntimeException e) {
+            logger.warn("Could not install the network filter, loading every resource", e);
+            return null;
+        }
+        return filter;
+    }
+
+    static void register(WebDriver driver, NetworkFilter filter) {
+        filters.put(driver, filter);
+    }
+
+    @SuppressWarnings("unchecked")
+    private void attach(DevTools devTools, List<String> deny, List<String> blockedTypes) {
+        devTools.addListener(mapEvent("Network.responseReceived"), event -> {
+            if (requestTypes.size() < MAX_TRACKED_REQUESTS) {
+                requestTypes.put(String.valueOf(event.get("requestId")), String.valueOf(event.get("type")));
+            }
+        });
+        devTools.addListener(mapEvent("Network.loadingFinished"), event -> {
+            String type = requestTypes.remove(String.valueOf(event.get("requestId")));
+            Object length = event.get("encodedDataLength");
+            if (type != null && length instanceof Number) {
+                long[] total = loadedBytes.computeIfAbsent(type, name -> new long[2]);
+                synchronized (total) {
+                    total[0] += ((Number) length).longValue();
+                    total[1]++;
+                }
+            }
+        });
+        devTools.addListener(mapEvent("Network.loadingFailed"), event -> {
+            requestTypes.remove(String.valueOf(event.get("requestId")));
+            // "inspector" is the reason Chrome gives for Network.setBlockedURLs matches
+            if ("inspector".equals(event.get("blockedReason"))) {
+                countBlocked(String.valueOf(event.get("type")));
+            }
+        });
+        devTools.send(new Command<>("Network.enable", Map.of()));
+        if (!deny.isEmpty()) {
+            devTools.send(new Command<>("Network.setBlockedURLs", Map.of("urls", deny)));
+        }
+
+        if (!blockedTypes.isEmpty()) {
+            devTools.addListener(mapEvent("Fetch.requestPaused"), event -> {
+                String requestId = String.valueOf(event.get("requestId"));
+                String url = String.valueOf(((Map<String, Object>) event.get("request")).get("url"));
+                if (isAllowed(url)) {
+                    devTools.send(new Command<>("Fetch.continueRequest", Map.of("requestId", requestId)));
+                } else {
+                    devTools.send(new Command<>("Fetch.failRequest",
+                            Map.of("requestId", requestId, "errorReason", "BlockedByClient")));
+                    countBlocked(String.valueOf(event.get("resourceType")));
+                }
+            });
+            List<Map<String, Object>> patterns = new ArrayList<>();
+            for (String type : blockedTypes) {
+                patterns.add(Map.of("urlPattern", "*", "resourceType", type, "requestStage", "Request"));
+            }
+            devTools.send(new Command<>("Fetch.enable", Map.of("patterns", patterns)));
+        }
+        logger.debug("Network filter installed: {} deny patterns, blocking types {}", deny.size(), blockedTypes);
+    }
+
+    private static Event<Map<String, Object>> mapEvent(String name) {
+        return new Event<>(name, input -> input.read(Json.MAP_TYPE));
+    }
+
+    private boolean isAllowed(String url) {
+        return allow.stream().anyMatch(pattern -> pattern.matcher(url).matches());
+    }
+
+    private void countBlocked(String type) {
+        long estimate = estimateBytes(type);
+        blocked.computeIfAbsent(type, name -> new LongAdder()).increment();
+        bytesSaved.add(estimate);
+        suiteBlocked.computeIfAbsent(type, name -> new LongAdder()).increment();
+        suiteBytesSaved.add(estimate);
+    }
+
+    private long estimateBytes(String type) {
+        long[] total = loadedBytes.get(type);
+        if (total != null) {
+            synchronized (total) {
+                if (total[1] > 0) {
+                    return total[0] / total[1];
+                }
+            }
+        }
+        return TYPICAL_BYTES.getOrDefault(type, OTHER_BYTES);
+    }
+
+    /**
+     * The filter installed on the session, or null if it has none.
+     */
+    public static NetworkFilter forDriver(WebDriver driver) {
+        return driver == null ? null : filters.get(driver);
+    }
+
+    static void forget(WebDriver driver) {
+        filters.remove(driver);
+    }
+
+    void resetCounters() {
+        blocked.clear();
+        bytesSaved.reset();
+    }
+
+    /**
+     * Requests blocked since the session was leased: total, per resource type, and the
+     * estimated bytes saved.
+     */
+    public Map<String, Object> getStats() {
+        return stats(blocked, bytesSaved.sum());
+    }
+
+    public static Map<String, Object> getSuiteStats() {
+        return stats(suiteBlocked, suiteBytesSaved.sum());
+    }
+
+    public static void writeJson(Path file) throws IOException {
+        Files.createDirectories(file.toAbsolutePath().getParent());
+        Files.writeString(file, new Json().toJson(getSuiteStats()));
+    }
+
+    private static Map<String, Object> stats(Map<String, LongAdder> counts, long bytes) {
+        Map<String, Long> byType = new TreeMap<>();
+        counts.forEach((type, count) -> byType.put(type, count.sum()));
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("blockedRequests", byType.values().stream().mapToLong(Long::longValue).sum());
+        stats.put("byType", byType);
+        stats.put("estimatedBytesSaved", bytes);
+        return stats;
+    }
+
+    /**
+     * Converts a Network.setBlockedURLs style pattern, where {@code *} matches anything, to a regex.
+     */
+    static Pattern globToRegex(String glob) {
+        String[] parts = glob.split("\\*", -1);
+        StringBuilder regex = new StringBuilder(Pattern.quote(parts[0]));
+        for (int i = 1; i < parts.length; i++) {
+            regex.append(".*").append(Pattern.quote(parts[i]));
+        }
+        return Pattern.compile(regex.toString());
+    }
+}
@@ -0,0 +1,274 @@
+package com.functional.fixtures;
+
+import com.functional.config.ConfigManager;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.openqa.selenium.json.Json;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Local HTTP server that stands in for the site under test. In {@link Mode#RECORD} it proxies
+ * every request to the upstream site and saves the response under the fixture directory; in
+ * {@link Mode#REPLAY} it serves the saved responses only, after a configurable delay, so page
+ * objects run offline against identical content and timings measure the framework rather
+ * than the network. A replayed request with no recording for its exact query falls back to
+ * the recording for its path. Links to the upstream origin in text responses are rewritten to
+ * point back at this server. Only same-origin resources are captured.
+ */
+public final class FixtureServer {
+    private static final Logger logger = LoggerFactory.getLogger(FixtureServer.class);
+    private static final List<String> FORWARDED_HEADERS = List.of(
+            "User-Agent", "Accept", "Accept-Language", "Cookie", "Content-Type", "Referer");
+    private static final FixtureServer INSTANCE = fromConfig(ConfigManager.getInstance());
+
+    public enum Mode { OFF, RECORD, REPLAY }
+
+    private final Mode mode;
+    private final int requestedPort;
+    private final Path directory;
+    private final URI upstream;
+    private final Duration latency;
+    private final HttpClient client;
+    private HttpServer server;
+    private ExecutorService executor;
+    private volatile String baseUrl;
+
+    public FixtureServer(Mode mode, int port, Path directory, URI upstream, Duration latency) {
+        this.mode = mode;
+        this.requestedPort = port;
+        this.directory = directory;
+        this.upstream = upstream;
+        this.latency = latency;
+        this.baseUrl = "http://localhost:" + port;
+        this.client = mode == Mode.RECORD
+                ? HttpClient.newBuilder().followRedirects(HttpClient.Redirect.NEVER)
+                        .connectTimeout(Duration.ofSeconds(10)).build()
+                : null;
+    }
+
+    private static FixtureServer fromConfig(ConfigManager config) {
+        return new FixtureServer(config.getFixtureMode(), config.getFixturePort(),
+                Paths.get(config.getFixtureDirectory()), URI.create(config.getFixtureUpstreamUrl()),
+                Duration.ofMillis(config.getFixtureLatencyMillis()));
+    }
+
+    /**
+     * The server configured in config.properties ({@code fixture.*}).
+     */
+    public static FixtureServer getInstance() {
+        return INSTANCE;
+    }
+
+    public Mode getMode() {
+        return mode;
+    }
+
+    /**
+     * Starts listening on the loopback interface unless the mode is OFF or it is already running.
+     */
+    public synchronized void start() {
+        if (mode == Mode.OFF || server != null) {
+            return;
+        }
+        try {
+            server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), requestedPort), 0);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to start fixture server on port " + requestedPort, e);
+        }
+        AtomicInteger counter = new AtomicInteger();
+        executor = Executors.newCachedThreadPool(task -> {
+            Thread thread = new Thread(task, "fixture-server-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        server.setExecutor(executor);
+        server.createContext("/", this::handle);
+        server.start();
+        baseUrl = "http://localhost:" + server.getAddress().getPort();
+        logger.info("Fixture server in {} mode at {} ({})", mode, getBaseUrl(), directory.toAbsolutePath());
+    }
+
+    public synchronized void stop() {
+        if (server != null) {
+            server.stop(0);
+            executor.shutdownNow();
+            server = null;
+        }
+    }
+
+    /**
+     * Where the server listens; with port 0 the actual port is known only once started.
+     */
+    public String getBaseUrl() {
+        return baseUrl;
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        try (exchange) {
+            String method = exchange.getRequestMethod().toUpperCase(Locale.ROOT);
+            URI uri = exchange.getRequestURI();
+            Recording recording = mode == Mode.RECORD ? record(exchange, method, uri) : replay(method, uri);
+            if (recording == null) {
+                logger.warn("No recording for {} {}", method, uri);
+                send(exchange, 404, "text/plain", null, ("Not recorded: " + method + " " + uri)
+                        .getBytes(StandardCharsets.UTF_8));
+                return;
+            }
+            if (!latency.isZero()) {
+                Thread.sleep(latency.toMillis());
+            }
+            send(exchange, recording.status(), recording.contentType(), recording.location(), rewrite(recording));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (IOException | RuntimeException e) {
+            logger.error("Fixture server failed on {}", exchange.getRequestURI(), e);
+            throw e;
+        }
+    }
+
+    private Recording replay(String method, URI uri) throws IOException {
+        Recording exact = Recording.read(directory, key(method, uri, true));
+        return exact != null ? exact : Recording.read(directory, key(method, uri, false));
+    }
+
+    private Recording record(HttpExchange exchange, String method, URI uri) throws IOException, InterruptedException {
+        byte[] requestBody = exchange.getRequestBody().readAllBytes();
+        HttpRequest.Builder request = HttpRequest.newBuilder(upstream.resolve(uri.getRawPath()
+                        + (uri.getRawQuery() != null ? "?" + uri.getRawQuery() : "")))
+                .timeout(Duration.ofSeconds(30))
+                .method(method, requestBody.length == 0
+                        ? HttpRequest.BodyPublishers.noBody()
+                        : HttpRequest.BodyPublishers.ofByteArray(requestBody));
+        for (String header : FORWARDED_HEADERS) {
+            String value = exchange.getRequestHeaders().getFirst(header);
+            if (value != null) {
+                request.header(header, value);
+            }
+        }
+        HttpResponse<byte[]> response = client.send(request.build(), HttpResponse.BodyHandlers.ofByteArray());
+        Recording recording = new Recording(response.statusCode(),
+                response.headers().firstValue("Content-Type").orElse("application/octet-stream"),
+                response.headers().firstValue("Location").orElse(null),
+                response.body());
+        recording.write(directory, key(method, uri, true));
+        logger.debug("Recorded {} {} -> {}", method, uri, response.statusCode());
+        return recording;
+    }
+
+    private byte[] rewrite(Recording recording) {
+        if (!isText(recording.contentType())) {
+            return recording.body();
+        }
+        String origin = upstream.getScheme() + "://" + upstream.getAuthority();
+        return new String(recording.body(), StandardCharsets.UTF_8)
+                .replace(origin, getBaseUrl())
+                .replace("//" + upstream.getAuthority(), "//" + getBaseUrl().substring("http://".length()))
+                .getBytes(StandardCharsets.UTF_8);
+    }
+
+    private void send(HttpExchange exchange, int status, String contentType, String location, byte[] body)
+            throws IOException {
+        exchange.getResponseHeaders().set("Content-Type", contentType);
+        exchange.getResponseHeaders().set("Cache-Control", "no-store");
+        if (location != null) {
+            exchange.getResponseHeaders().set("Location", location.replace(
+                    upstream.getScheme() + "://" + upstream.getAuthority(), getBaseUrl()));
+        }
+        boolean empty = body.length == 0 || status == 204 || status == 304;
+        exchange.sendResponseHeaders(status, empty ? -1 : body.length);
+        if (!empty) {
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        }
+    }
+
+    private static boolean isText(String contentType) {
+        String type = contentType.toLowerCase(Locale.ROOT);
+        return type.startsWith("text/") || type.contains("javascript") || type.contains("json") || type.contains("xml");
+    }
+
+    /**
+     * File name (without extension) for a request: its path, with "index" for directories, an
+     * optional hash of the query, and the method.
+     */
+    static String key(String method, URI uri, boolean withQuery) {
+        String path = uri.getRawPath() == null ? "" : uri.getRawPath().replaceAll("^/+", "");
+        if (path.isEmpty() || path.endsWith("/")) {
+            path += "index";
+        }
+        path = path.replaceAll("[^A-Za-z0-9._/-]", "_").replace("..", "_");
+        if (withQuery && uri.getRawQuery() != null) {
+            path += "__" + sha256(uri.getRawQuery()).substring(0, 12);
+        }
+        return path + "." + method;
+    }
+
+    private static String sha256(String value) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256")
+                    .digest(value.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    /**
+     * A saved response: {@code <key>.body} holds the bytes and {@code <key>.json} the status,
+     * content type and redirect location.
+     */
+    private record Recording(int status, String contentType, String location, byte[] body) {
+
+        static Recording read(Path directory, String key) throws IOException {
+            Path body = directory.resolve(key + ".body");
+            Path meta = directory.resolve(key + ".json");
+            if (!Files.isRegularFile(body) || !Files.isRegularFile(meta)) {
+                return null;
+            }
+            Map<String, Object> values = new Json().toType(Files.readString(meta), Json.MAP_TYPE);
+            return new Recording(((Number) values.getOrDefault("status", 200)).intValue(),
+                    String.valueOf(values.getOrDefault("contentType", "text/html; charset=UTF-8")),
+                    (String) values.get("location"),
+                    Files.readAllBytes(body));
+        }
+
+        void write(Path directory, String key) throws IOException {
+            Path body = directory.resolve(key + ".body");
+            Files.createDirectories(body.getParent());
+            Files.write(body, body());
+            Map<String, Object> values = new LinkedHashMap<>();
+            values.put("status", status);
+            values.put("contentType", contentType);
+            if (location != null) {
+                values.put("location", location);
+            }
+            Files.writeString(directory.resolve(key + ".json"), new Json().toJson(values));
+        }
+    }
+}
@@ -0,0 +1,98 @@
+package com.functional.listeners;
+
+import com.functional.driver.DriverPool;
+import com.functional.driver.NetworkFilter;
+import com.functional.logging.TestLogBuffer;
+import com.functional.metrics.CommandMetrics;
+import com.functional.metrics.PageLoadMetrics;
+import com.functional.metrics.RetryMetrics;
+import com.functional.metrics.StepMetrics;
+import com.functional.utils.AllureAttachments;
+import io.qameta.allure.Allure;
+import io.qameta.allure.AllureLifecycle;
+import io.qameta.allure.listener.TestLifecycleListener;
+import io.qameta.allure.model.FixtureResult;
+import io.qameta.allure.model.Stage;
+import io.qameta.allure.model.Status;
+import io.qameta.allure.model.TestResult;
+import io.qameta.allure.model.TestResultContainer;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Adds framework diagnostics to each Allure test result just before Allure closes it. Runs on
+ * the test thread while the result is still current, regardless of TestNG listener order.
+ * Registered through META-INF/services. Also attaches suite-wide summaries to every test of
+ * the run through one teardown fixture, see {@link #attachSuiteSummary}.
+ */
+public class AllureResultEnricher implements TestLifecycleListener {
+    private static final Set<String> finishedTests = ConcurrentHashMap.newKeySet();
+
+    /**
+     * Attaches a suite-wide summary as JSON to a teardown fixture shared by every test result
+     * written so far, so it shows under each test in the report. Call at the end of the suite.
+     */
+    public static void attachSuiteSummary(String name, Object summary) {
+        List<String> children = List.copyOf(finishedTests);
+        if (children.isEmpty()) {
+            return;
+        }
+        AllureLifecycle lifecycle = Allure.getLifecycle();
+        String containerUuid = UUID.randomUUID().toString();
+        String fixtureUuid = UUID.randomUUID().toString();
+        lifecycle.startTestContainer(new TestResultContainer().setUuid(containerUuid).setName(name).setChildren(children));
+        lifecycle.startTearDownFixture(containerUuid, fixtureUuid,
+                new FixtureResult().setName(name).setStatus(Status.PASSED).setStage(Stage.RUNNING));
+        try {
+            AllureAttachments.json(name, summary);
+        } finally {
+            lifecycle.stopFixture(fixtureUuid);
+            lifecycle.stopTestContainer(containerUuid);
+            lifecycle.writeTestContainer(containerUuid);
+        }
+    }
+
+    @Override
+    public void beforeTestStop(TestResult result) {
+        finishedTests.add(result.getUuid());
+        List<StepMetrics.StepTiming> timings = StepMetrics.getTestTimings();
+        if (!timings.isEmpty()) {
+            List<Map<String, Object>> steps = timings.stream()
+                    .map(timing -> {
+                        Map<String, Object> step = new LinkedHashMap<>();
+                        step.put("step", timing.step());
+                        step.put("ms", timing.micros() / 1000.0);
+                        return step;
+                    })
+                    .toList();
+            AllureAttachments.json("Step timings", steps);
+        }
+        Map<String, Map<String, Object>> commands = CommandMetrics.getTestSummary();
+        if (!commands.isEmpty()) {
+            AllureAttachments.json("WebDriver commands", commands);
+        }
+        List<PageLoadMetrics.PageLoad> loads = PageLoadMetrics.getTestLoads();
+        if (!loads.isEmpty()) {
+            AllureAttachments.json("Page loads", loads.stream().map(PageLoadMetrics.PageLoad::toMap).toList());
+        }
+        List<RetryMetrics.StepRetry> retries = RetryMetrics.getTestStepRetries();
+        if (!retries.isEmpty()) {
+            AllureAttachments.json("Step retries", retries.stream().map(RetryMetrics.StepRetry::toMap).toList());
+        }
+        NetworkFilter filter = NetworkFilter.forDriver(DriverPool.getInstance().current());
+        if (filter != null) {
+            AllureAttachments.json("Blocked requests", filter.getStats());
+        }
+        if (result.getStatus() == Status.FAILED || result.getStatus() == Status.BROKEN) {
+            String log = TestLogBuffer.dump();
+            if (!log.isEmpty()) {
+                AllureAttachments.text("Test log", ".log", log);
+            }
+        }
+    }
+}
@@ -0,0 +1,56 @@
+package com.functional.listeners;
+
+import com.functional.config.ConfigManager;
+import com.functional.sharding.ShardPlanner;
+import com.functional.sharding.TestDurations;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.testng.IMethodInstance;
+import org.testng.IMethodInterceptor;
+import org.testng.ITestContext;
+import org.testng.ITestNGMethod;
+
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Keeps only the methods that belong to this shard when {@code shard.total} is above one.
+ * Each {@code <test>} block is balanced on its own from the durations in {@code shard.history}
+ * (previous testng-results.xml files), so every shard finishes at about the same time. All
+ * shards must see the same history to agree on the split.
+ */
+public class ShardingInterceptor implements IMethodInterceptor {
+    private static final Logger logger = LoggerFactory.getLogger(ShardingInterceptor.class);
+
+    @Override
+    public List<IMethodInstance> intercept(List<IMethodInstance> methods, ITestContext context) {
+        ConfigManager config = ConfigManager.getInstance();
+        int total = config.getShardTotal();
+        if (total <= 1) {
+            return methods;
+        }
+        int index = config.getShardIndex();
+        if (index < 0 || index >= total) {
+            throw new IllegalArgumentException("shard.index must be between 0 and " + (total - 1) + ", was " + index);
+        }
+
+        Set<String> keys = new LinkedHashSet<>();
+        methods.forEach(instance -> keys.add(key(instance.getMethod())));
+        Map<String, Long> durations = TestDurations.load(config.getShardHistory());
+        ShardPlanner.Shard shard = ShardPlanner.plan(keys, durations, total).get(index);
+        Set<String> assigned = Set.copyOf(shard.getMethods());
+
+        List<IMethodInstance> kept = methods.stream()
+                .filter(instance -> assigned.contains(key(instance.getMethod())))
+                .toList();
+        logger.info("Shard {}/{} of '{}': {} of {} methods, ~{} ms", index + 1, total, context.getName(),
+                assigned.size(), keys.size(), shard.getEstimatedMillis());
+        return kept;
+    }
+
+    private static String key(ITestNGMethod method) {
+        return TestDurations.key(method.getRealClass().getName(), method.getMethodName());
+    }
+}
@@ -0,0 +1,31 @@
+package com.functional.listeners;
+
+import com.functional.config.ConfigManager;
+import com.functional.driver.DriverPool;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.testng.IAlterSuiteListener;
+import org.testng.xml.XmlSuite;
+
+import java.util.List;
+
+/**
+ * Sizes suite parallelism to the driver pool so every worker thread can hold a session, and
+ * sets the thread count for parallel data providers (the pool size unless configured).
+ */
+public class SuiteConfigurer implements IAlterSuiteListener {
+    private static final Logger logger = LoggerFactory.getLogger(SuiteConfigurer.class);
+
+    @Override
+    public void alter(List<XmlSuite> suites) {
+        int poolSize = DriverPool.getInstance().getMaxSize();
+        int dataProviderThreads = ConfigManager.getInstance().getDataProviderThreadCount(poolSize);
+        for (XmlSuite suite : suites) {
+            suite.setDataProviderThreadCount(dataProviderThreads);
+            if (suite.getParallel() != null && suite.getParallel().isParallel()) {
+                suite.setThreadCount(poolSize);
+                logger.info("Running suite '{}' with {} parallel threads", suite.getName(), poolSize);
+            }
+        }
+    }
+}
@@ -1,37 +1,96 @@
 package com.functional.listeners;
 
+import com.functional.driver.DriverFactory;
+import com.functional.driver.DriverPool;
+import com.functional.driver.NetworkFilter;
+import com.functional.fixtures.FixtureServer;
+import com.functional.locators.Locators;
+import com.functional.logging.TestLogBuffer;
+import com.functional.metrics.CommandMetrics;
+import com.functional.metrics.PageLoadMetrics;
+import com.functional.metrics.RetryMetrics;
+import com.functional.metrics.StepMetrics;
+import com.functional.pages.ElementCache;
+import com.functional.utils.ScreenshotPipeline;
 import com.functional.utils.TestUtils;
 import org.openqa.selenium.WebDriver;
+import org.slf4j.MDC;
+import org.testng.ISuite;
+import org.testng.ISuiteListener;
 import org.testng.ITestContext;
 import org.testng.ITestListener;
 import org.testng.ITestResult;
 
-public class TestListener implements ITestListener {
+import java.io.IOException;
+import java.nio.file.Paths;
+
+public class TestListener implements ITestListener, ISuiteListener {
     private WebDriver getDriver(ITestResult result) {
-        try {
-            // Try to get the driver from the test class instance
-            return (WebDriver) result.getTestClass()
-                    .getRealClass()
-                    .getSuperclass()
-                    .getDeclaredField("driver")
-                    .get(result.getInstance());
-        } catch (Exception e) {
-            return null;
-        }
+        // Failure callbacks run on the test thread, which still holds its pooled session
+        return DriverPool.getInstance().current();
+    }
+
+    @Override
+    public void onTestStart(ITestResult result) {
+        MDC.put("test", result.getTestClass().getRealClass().getSimpleName() + "." + result.getMethod().getMethodName());
+        TestLogBuffer.clear();
+        StepMetrics.startTest();
+        CommandMetrics.startTest();
+        PageLoadMetrics.startTest();
+        RetryMetrics.startTest();
+    }
+
+    @Override
+    public void onTestSuccess(ITestResult result) {
+        // A passing test's buffered log is never looked at
+        TestLogBuffer.clear();
+        MDC.remove("test");
     }
 
     @Override
     public void onTestFailure(ITestResult result) {
         WebDriver driver = getDriver(result);
         if (driver != null) {
-            TestUtils.takeScreenshot(driver);
+            TestUtils.saveScreenshot(driver, result.getMethod().getMethodName());
+        }
+        // The buffered log itself is attached by AllureResultEnricher, which runs while the result is still open
+        MDC.remove("test");
+    }
+
+    @Override
+    public void onTestSkipped(ITestResult result) {
+        TestLogBuffer.clear();
+        MDC.remove("test");
+    }
+
+    @Override
+    public void onStart(ISuite suite) {
+        // No-op unless fixture.mode is record or replay
+        FixtureServer.getInstance().start();
+    }
+
+    @Override
+    public void onFinish(ISuite suite) {
+        TestUtils.logInfo("Element cache: " + ElementCache.getTotalHits() + " hits, "
+                + ElementCache.getTotalMisses() + " misses");
+        try {
+            Locators.writeReport(Paths.get("target/locator-report.txt"));
+            StepMetrics.writeJson(Paths.get("target/step-metrics.json"));
+            CommandMetrics.writeJson(Paths.get("target/command-trace.json"));
+            PageLoadMetrics.writeJson(Paths.get("target/page-load-metrics.json"));
+            NetworkFilter.writeJson(Paths.get("target/network-filter.json"));
+            RetryMetrics.writeJson(Paths.get("target/retry-metrics.json"));
+        } catch (IOException e) {
+            TestUtils.logError("Failed to write suite reports", e);
         }
+        AllureResultEnricher.attachSuiteSummary("Suite step latency percentiles", StepMetrics.summary());
+        ScreenshotPipeline.getInstance().drain();
+        DriverPool.getInstance().shutdown();
+        DriverFactory.shutdown();
+        FixtureServer.getInstance().stop();
     }
 
-    // Other ITestListener methods with empty implementations
-    @Override public void onTestStart(ITestResult result) {}
-    @Override public void onTestSuccess(ITestResult result) {}
-    @Override public void onTestSkipped(ITestResult result) {}
+    // Other listener methods with empty implementations
     @Override public void onTestFailedButWithinSuccessPercentage(ITestResult result) {}
     @Override public void onStart(ITestContext context) {}
     @Override public void onFinish(ITestContext context) {}
@@ -0,0 +1,97 @@
+package com.functional.locators;
+
+import org.openqa.selenium.By;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Locator factory for the page objects. XPath expressions that have an exact CSS equivalent
+ * are compiled to {@code By.cssSelector}, which the browser resolves with native
+ * querySelector; the rest stay XPath and are recorded for {@link #writeReport(Path)}.
+ * Compilation happens once per expression, when the page class declaring it is loaded.
+ */
+public final class Locators {
+    private static final Logger logger = LoggerFactory.getLogger(Locators.class);
+    private static final Map<String, By> compiled = new ConcurrentHashMap<>();
+    private static final Map<String, String> untranslatable = new ConcurrentHashMap<>();
+
+    private static final String[] PAGE_CLASSES = {
+            "com.functional.pages.AmazonHomePage",
+            "com.functional.pages.AmazonProductPage",
+            "com.functional.pages.AmazonCheckoutPage"
+    };
+
+    private Locators() {
+    }
+
+    public static By xpath(String xpath) {
+        return compiled.computeIfAbsent(xpath, Locators::compile);
+    }
+
+    public static By css(String selector) {
+        return By.cssSelector(selector);
+    }
+
+    private static By compile(String xpath) {
+        try {
+            String css = XPathToCss.translate(xpath);
+            logger.trace("Compiled XPath {} to CSS {}", xpath, css);
+            return By.cssSelector(css);
+        } catch (UntranslatableXPathException e) {
+            logger.debug("Keeping XPath locator: {}", e.getMessage());
+            untranslatable.put(xpath, e.getReason());
+            return By.xpath(xpath);
+        }
+    }
+
+    /**
+     * Every XPath loaded so far with the locator it compiled to.
+     */
+    public static Map<String, By> getCompiled() {
+        return new TreeMap<>(compiled);
+    }
+
+    /**
+     * XPath locators loaded so far that had to stay XPath, with the reason.
+     */
+    public static Map<String, String> getUntranslatable() {
+        return new TreeMap<>(untranslatable);
+    }
+
+    public static void writeReport(Path file) throws IOException {
+        StringBuilder report = new StringBuilder();
+        report.append("XPath locators: ").append(compiled.size())
+                .append(", compiled to CSS: ").append(compiled.size() - untranslatable.size())
+                .append(", kept as XPath: ").append(untranslatable.size()).append(System.lineSeparator());
+        getUntranslatable().forEach((xpath, reason) ->
+                report.append(System.lineSeparator()).append(xpath).append(System.lineSeparator())
+                        .append("    ").append(reason).append(System.lineSeparator()));
+        Files.createDirectories(file.toAbsolutePath().getParent());
+        Files.writeString(file, report);
+    }
+
+    public static void loadPageLocators() throws ClassNotFoundException {
+        for (String pageClass : PAGE_CLASSES) {
+            Class.forName(pageClass, true, Locators.class.getClassLoader());
+        }
+    }
+
+    /**
+     * Loads every page object class (which compiles its locators) and writes the report of
+     * untranslatable ones, to the path given as the first argument or target/locator-report.txt.
+     */
+    public static void main(String[] args) throws Exception {
+        loadPageLocators();
+        Path file = Paths.get(args.length > 0 ? args[0] : "target/locator-report.txt");
+        writeReport(file);
+        System.out.println(Files.readString(file));
+    }
+}
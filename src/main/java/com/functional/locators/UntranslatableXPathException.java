@@ -0,0 +1,17 @@
+package com.functional.locators;
+
+/**
+ * Thrown when an XPath uses a construct with no exact CSS equivalent.
+ */
+public class UntranslatableXPathException extends RuntimeException {
+    private final String reason;
+
+    public UntranslatableXPathException(String xpath, String reason) {
+        super("Cannot translate XPath to CSS (" + reason + "): " + xpath);
+        this.reason = reason;
+    }
+
+    public String getReason() {
+        return reason;
+    }
+}
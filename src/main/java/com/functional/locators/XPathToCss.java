@@ -0,0 +1,248 @@
+package com.functional.locators;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Translates the subset of XPath that has an exact CSS equivalent: descendant and child
+ * steps, element names, and predicates built from attribute equality, attribute existence,
+ * {@code contains}, {@code starts-with}, {@code not}, {@code and} and {@code or}. An
+ * {@code or} is expanded into a CSS selector list, which matches the same nodes in the same
+ * document order. Anything else (axes, text(), positions, parent steps) is rejected with
+ * {@link UntranslatableXPathException} so the caller can keep the XPath.
+ */
+public final class XPathToCss {
+    private static final int MAX_ALTERNATIVES = 16;
+
+    private final String xpath;
+    private int pos;
+
+    private XPathToCss(String xpath) {
+        this.xpath = xpath;
+    }
+
+    public static String translate(String xpath) {
+        return String.join(", ", new XPathToCss(xpath.trim()).parsePath());
+    }
+
+    private List<String> parsePath() {
+        if (xpath.startsWith("(")) {
+            throw fail("grouped or positional expression");
+        }
+        List<String> selectors = List.of("");
+        boolean first = true;
+        while (pos < xpath.length()) {
+            String combinator;
+            if (consume("//")) {
+                combinator = first ? "" : " ";
+            } else if (consume("/")) {
+                if (first) {
+                    throw fail("absolute path from the document root");
+                }
+                combinator = " > ";
+            } else {
+                throw fail("unexpected '" + xpath.charAt(pos) + "'");
+            }
+            selectors = product(selectors, combinator, parseStep());
+            first = false;
+        }
+        if (first) {
+            throw fail("empty expression");
+        }
+        return selectors;
+    }
+
+    private List<String> parseStep() {
+        String name;
+        if (consume("*")) {
+            name = "*";
+        } else {
+            name = parseName();
+            if (name.isEmpty() || name.startsWith(".")) {
+                throw fail("relative or parent step");
+            }
+            skipWhitespace();
+            if (lookingAt("::")) {
+                throw fail("axis '" + name + "::'");
+            }
+            if (lookingAt("(")) {
+                throw fail("node test '" + name + "()'");
+            }
+        }
+        List<String> step = List.of(name);
+        skipWhitespace();
+        while (consume("[")) {
+            List<String> predicate = parseOr();
+            expect("]");
+            step = product(step, "", predicate);
+            skipWhitespace();
+        }
+        return step;
+    }
+
+    private List<String> parseOr() {
+        List<String> alternatives = new ArrayList<>(parseAnd());
+        while (consumeKeyword("or")) {
+            alternatives.addAll(parseAnd());
+            checkSize(alternatives);
+        }
+        return alternatives;
+    }
+
+    private List<String> parseAnd() {
+        List<String> conjunction = parseTerm();
+        while (consumeKeyword("and")) {
+            conjunction = product(conjunction, "", parseTerm());
+        }
+        return conjunction;
+    }
+
+    private List<String> parseTerm() {
+        skipWhitespace();
+        if (consume("(")) {
+            List<String> inner = parseOr();
+            expect(")");
+            return inner;
+        }
+        if (consume("@")) {
+            String attribute = parseAttributeName();
+            skipWhitespace();
+            if (lookingAt("!=")) {
+                throw fail("'!=' comparison");
+            }
+            if (consume("=")) {
+                return List.of("[" + attribute + "=" + parseLiteral() + "]");
+            }
+            return List.of("[" + attribute + "]");
+        }
+        if (pos < xpath.length() && Character.isDigit(xpath.charAt(pos))) {
+            throw fail("positional predicate");
+        }
+        String function = parseName();
+        skipWhitespace();
+        if (!consume("(")) {
+            throw fail("unsupported predicate '" + function + "'");
+        }
+        switch (function) {
+            case "contains":
+            case "starts-with": {
+                skipWhitespace();
+                if (!consume("@")) {
+                    throw fail(function + "() on something other than an attribute");
+                }
+                String attribute = parseAttributeName();
+                expect(",");
+                String literal = parseLiteral();
+                expect(")");
+                // contains(@a, '') is true for every node, while [a*=''] matches nothing
+                if (literal.equals("''")) {
+                    return List.of("");
+                }
+                return List.of("[" + attribute + (function.equals("contains") ? "*=" : "^=") + literal + "]");
+            }
+            case "not": {
+                List<String> inner = parseOr();
+                expect(")");
+                if (inner.size() != 1 || inner.get(0).isEmpty()) {
+                    throw fail("not() over a disjunction");
+                }
+                return List.of(":not(" + inner.get(0) + ")");
+            }
+            default:
+                throw fail("function " + function + "()");
+        }
+    }
+
+    private String parseName() {
+        skipWhitespace();
+        int start = pos;
+        while (pos < xpath.length()) {
+            char c = xpath.charAt(pos);
+            if (Character.isLetterOrDigit(c) || c == '-' || c == '_' || c == '.') {
+                pos++;
+            } else {
+                break;
+            }
+        }
+        return xpath.substring(start, pos);
+    }
+
+    private String parseAttributeName() {
+        String name = parseName();
+        if (name.isEmpty() || lookingAt(":")) {
+            throw fail("attribute name");
+        }
+        return name;
+    }
+
+    private String parseLiteral() {
+        skipWhitespace();
+        if (pos >= xpath.length() || (xpath.charAt(pos) != '\'' && xpath.charAt(pos) != '"')) {
+            throw fail("non-literal comparison");
+        }
+        char quote = xpath.charAt(pos++);
+        int end = xpath.indexOf(quote, pos);
+        if (end < 0) {
+            throw fail("unterminated string literal");
+        }
+        String value = xpath.substring(pos, end);
+        pos = end + 1;
+        return "'" + value.replace("\\", "\\\\").replace("'", "\\'").replace("\n", "\\a ") + "'";
+    }
+
+    private List<String> product(List<String> left, String separator, List<String> right) {
+        List<String> combined = new ArrayList<>(left.size() * right.size());
+        for (String l : left) {
+            for (String r : right) {
+                combined.add(l + separator + r);
+            }
+        }
+        checkSize(combined);
+        return combined;
+    }
+
+    private void checkSize(List<String> alternatives) {
+        if (alternatives.size() > MAX_ALTERNATIVES) {
+            throw fail("expands to more than " + MAX_ALTERNATIVES + " CSS alternatives");
+        }
+    }
+
+    private boolean consumeKeyword(String keyword) {
+        skipWhitespace();
+        int end = pos + keyword.length();
+        if (xpath.startsWith(keyword, pos) && end < xpath.length() && Character.isWhitespace(xpath.charAt(end))) {
+            pos = end;
+            return true;
+        }
+        return false;
+    }
+
+    private boolean consume(String token) {
+        if (xpath.startsWith(token, pos)) {
+            pos += token.length();
+            return true;
+        }
+        return false;
+    }
+
+    private boolean lookingAt(String token) {
+        return xpath.startsWith(token, pos);
+    }
+
+    private void expect(String token) {
+        skipWhitespace();
+        if (!consume(token)) {
+            throw fail("expected '" + token + "'");
+        }
+    }
+
+    private void skipWhitespace() {
+        while (pos < xpath.length() && Character.isWhitespace(xpath.charAt(pos))) {
+            pos++;
+        }
+    }
+
+    private UntranslatableXPathException fail(String reason) {
+        return new UntranslatableXPathException(xpath, reason + " at offset " + pos);
+    }
+}
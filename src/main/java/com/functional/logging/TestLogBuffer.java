@@ -0,0 +1,94 @@
+package com.functional.logging;
+
+import ch.qos.logback.classic.PatternLayout;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.UnsynchronizedAppenderBase;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+
+/**
+ * Logback appender that keeps the most recent events of each thread in a bounded in-memory
+ * ring, so a failing test can attach its own log without anything being formatted or written
+ * while it passes. Appending stores a reference and, when full, drops the oldest event; events
+ * are formatted only by {@link #dump()}. Not synchronised: each ring is touched only by its
+ * own thread.
+ *
+ * <pre>
+ * &lt;appender name="TEST_BUFFER" class="com.functional.logging.TestLogBuffer"&gt;
+ *     &lt;capacity&gt;500&lt;/capacity&gt;
+ *     &lt;pattern&gt;%d{HH:mm:ss.SSS} %-5level %logger{36} - %msg%n&lt;/pattern&gt;
+ * &lt;/appender&gt;
+ * </pre>
+ */
+public class TestLogBuffer extends UnsynchronizedAppenderBase<ILoggingEvent> {
+    private static final ThreadLocal<Deque<ILoggingEvent>> events = ThreadLocal.withInitial(ArrayDeque::new);
+    private static volatile TestLogBuffer active;
+
+    private int capacity = 500;
+    private String pattern = "%d{HH:mm:ss.SSS} %-5level %logger{36} - %msg%n";
+    private PatternLayout layout;
+
+    public void setCapacity(int capacity) {
+        this.capacity = capacity;
+    }
+
+    public void setPattern(String pattern) {
+        this.pattern = pattern;
+    }
+
+    @Override
+    public void start() {
+        if (capacity < 1) {
+            addError("capacity must be at least 1");
+            return;
+        }
+        layout = new PatternLayout();
+        layout.setContext(getContext());
+        layout.setPattern(pattern);
+        layout.start();
+        active = this;
+        super.start();
+    }
+
+    @Override
+    public void stop() {
+        super.stop();
+        if (active == this) {
+            active = null;
+        }
+        layout.stop();
+    }
+
+    @Override
+    protected void append(ILoggingEvent event) {
+        Deque<ILoggingEvent> ring = events.get();
+        if (ring.size() >= capacity) {
+            ring.pollFirst();
+        }
+        ring.addLast(event);
+    }
+
+    /**
+     * Forgets everything this thread has logged so far.
+     */
+    public static void clear() {
+        events.get().clear();
+    }
+
+    /**
+     * Formats this thread's buffered events, oldest first, and clears the buffer. Returns an
+     * empty string when the appender is not configured.
+     */
+    public static String dump() {
+        Deque<ILoggingEvent> ring = events.get();
+        TestLogBuffer buffer = active;
+        StringBuilder log = new StringBuilder();
+        if (buffer != null) {
+            // PatternLayout appends stack traces on its own
+            ring.forEach(event -> log.append(buffer.layout.doLayout(event)));
+        }
+        ring.clear();
+        return log.toString();
+    }
+}
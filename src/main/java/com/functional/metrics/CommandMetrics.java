@@ -0,0 +1,103 @@
+package com.functional.metrics;
+
+import org.openqa.selenium.json.Json;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * WebDriver command counts and latencies, attributed to the page-object method that issued
+ * them. Keeps suite-wide totals per method, per-test totals, and a running per-thread count
+ * that {@link StepTimer} uses to work out how many commands a single action sent.
+ */
+public final class CommandMetrics {
+    private static final Map<String, MethodStats> suiteStats = new ConcurrentHashMap<>();
+    private static final ThreadLocal<long[]> threadCommands = ThreadLocal.withInitial(() -> new long[1]);
+    // Synchronized because a test's worker threads can share it (see TestMetricsContext)
+    private static final ThreadLocal<Map<String, long[]>> testStats =
+            ThreadLocal.withInitial(() -> Collections.synchronizedMap(new TreeMap<>()));
+
+    private CommandMetrics() {
+    }
+
+    public static void record(String caller, String command, long nanos) {
+        suiteStats.computeIfAbsent(caller, name -> new MethodStats()).record(command, nanos);
+        threadCommands.get()[0]++;
+        Map<String, long[]> stats = testStats.get();
+        synchronized (stats) {
+            long[] test = stats.computeIfAbsent(caller, name -> new long[2]);
+            test[0]++;
+            test[1] += nanos;
+        }
+    }
+
+    /**
+     * Commands sent by this thread so far.
+     */
+    static long threadCommandCount() {
+        return threadCommands.get()[0];
+    }
+
+    public static void startTest() {
+        testStats.get().clear();
+    }
+
+    /**
+     * Commands and milliseconds per calling method for the test running on this thread.
+     */
+    public static Map<String, Map<String, Object>> getTestSummary() {
+        Map<String, Map<String, Object>> summary = new TreeMap<>();
+        testStats.get().forEach((caller, stats) -> summary.put(caller, Map.of(
+                "commands", stats[0],
+                "totalMs", stats[1] / 1_000_000)));
+        return summary;
+    }
+
+    static Map<String, long[]> testStats() {
+        return testStats.get();
+    }
+
+    static void useTestStats(Map<String, long[]> stats) {
+        testStats.set(stats);
+    }
+
+    public static Map<String, Map<String, Object>> summary() {
+        Map<String, Map<String, Object>> summary = new TreeMap<>();
+        suiteStats.forEach((caller, stats) -> summary.put(caller, stats.toMap()));
+        return summary;
+    }
+
+    public static void writeJson(Path file) throws IOException {
+        Files.createDirectories(file.toAbsolutePath().getParent());
+        Files.writeString(file, new Json().toJson(summary()));
+    }
+
+    private static final class MethodStats {
+        private final AtomicLong commands = new AtomicLong();
+        private final AtomicLong nanos = new AtomicLong();
+        private final Map<String, AtomicLong> byCommand = new ConcurrentHashMap<>();
+
+        void record(String command, long elapsed) {
+            commands.incrementAndGet();
+            nanos.addAndGet(elapsed);
+            byCommand.computeIfAbsent(command, name -> new AtomicLong()).incrementAndGet();
+        }
+
+        Map<String, Object> toMap() {
+            Map<String, Object> map = new LinkedHashMap<>();
+            map.put("commands", commands.get());
+            map.put("totalMs", nanos.get() / 1_000_000);
+            Map<String, Long> counts = new TreeMap<>();
+            byCommand.forEach((command, count) -> counts.put(command, count.get()));
+            map.put("byCommand", counts);
+            return map;
+        }
+    }
+}
@@ -0,0 +1,163 @@
+package com.functional.metrics;
+
+import org.openqa.selenium.json.Json;
+
+import java.io.IOException;
+import java.net.URI;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Browser-reported page-load timings (Navigation Timing, Largest Contentful Paint, Cumulative
+ * Layout Shift) for every navigation made through a page object. Keeps the loads of the test
+ * running on each thread for assertions and reporting, and suite-wide histograms per page so
+ * load times can be trended across runs.
+ */
+public final class PageLoadMetrics {
+    private static final Map<String, PageStats> suiteStats = new ConcurrentHashMap<>();
+    // Synchronized because a test's worker threads can share it (see TestMetricsContext)
+    private static final ThreadLocal<List<PageLoad>> testLoads =
+            ThreadLocal.withInitial(() -> Collections.synchronizedList(new ArrayList<>()));
+
+    private PageLoadMetrics() {
+    }
+
+    public static void record(PageLoad load) {
+        testLoads.get().add(load);
+        suiteStats.computeIfAbsent(pageKey(load.url()), key -> new PageStats()).record(load);
+    }
+
+    public static void startTest() {
+        testLoads.get().clear();
+    }
+
+    /**
+     * Page loads recorded on this thread since the current test started, in navigation order.
+     */
+    public static List<PageLoad> getTestLoads() {
+        return List.copyOf(testLoads.get());
+    }
+
+    /**
+     * The most recent page load on this thread, or null if the current test has not navigated.
+     */
+    public static PageLoad getLastLoad() {
+        List<PageLoad> loads = testLoads.get();
+        synchronized (loads) {
+            return loads.isEmpty() ? null : loads.get(loads.size() - 1);
+        }
+    }
+
+    static List<PageLoad> testLoads() {
+        return testLoads.get();
+    }
+
+    static void useTestLoads(List<PageLoad> loads) {
+        testLoads.set(loads);
+    }
+
+    /**
+     * Summary per page (host and path): loads, then p50/p95/max of the load event and LCP in
+     * milliseconds, and the worst CLS seen.
+     */
+    public static Map<String, Map<String, Object>> summary() {
+        Map<String, Map<String, Object>> summary = new TreeMap<>();
+        suiteStats.forEach((page, stats) -> summary.put(page, stats.toMap()));
+        return summary;
+    }
+
+    public static void writeJson(Path file) throws IOException {
+        Files.createDirectories(file.toAbsolutePath().getParent());
+        Files.writeString(file, new Json().toJson(summary()));
+    }
+
+    private static String pageKey(String url) {
+        try {
+            URI uri = URI.create(url);
+            if (uri.getHost() != null) {
+                return uri.getHost() + (uri.getPath() == null || uri.getPath().isEmpty() ? "/" : uri.getPath());
+            }
+        } catch (IllegalArgumentException e) {
+            // Fall through and key by the raw URL
+        }
+        return url;
+    }
+
+    /**
+     * One navigation as measured by the browser. Times are milliseconds from navigation start;
+     * {@code lcpMs} is -1 when the browser does not report Largest Contentful Paint.
+     */
+    public record PageLoad(String url, double ttfbMs, double domContentLoadedMs, double loadMs,
+                           double lcpMs, double cls, long resourceCount, long transferBytes,
+                           List<Map<String, Object>> slowestResources) {
+
+        @SuppressWarnings("unchecked")
+        public static PageLoad fromMap(Map<String, Object> values) {
+            Object slowest = values.get("slowestResources");
+            return new PageLoad(
+                    String.valueOf(values.get("url")),
+                    number(values, "ttfb"),
+                    number(values, "domContentLoaded"),
+                    number(values, "load"),
+                    number(values, "lcp"),
+                    number(values, "cls"),
+                    (long) number(values, "resourceCount"),
+                    (long) number(values, "transferBytes"),
+                    slowest instanceof List ? (List<Map<String, Object>>) slowest : List.of());
+        }
+
+        private static double number(Map<String, Object> values, String key) {
+            Object value = values.get(key);
+            return value instanceof Number ? ((Number) value).doubleValue() : -1;
+        }
+
+        public Map<String, Object> toMap() {
+            Map<String, Object> map = new LinkedHashMap<>();
+            map.put("url", url);
+            map.put("ttfbMs", Math.round(ttfbMs));
+            map.put("domContentLoadedMs", Math.round(domContentLoadedMs));
+            map.put("loadMs", Math.round(loadMs));
+            map.put("lcpMs", Math.round(lcpMs));
+            map.put("cls", Math.round(cls * 1000) / 1000.0);
+            map.put("resourceCount", resourceCount);
+            map.put("transferBytes", transferBytes);
+            map.put("slowestResources", slowestResources);
+            return map;
+        }
+    }
+
+    private static final class PageStats {
+        private final LatencyHistogram load = new LatencyHistogram();
+        private final LatencyHistogram lcp = new LatencyHistogram();
+        private volatile double worstCls;
+
+        synchronized void record(PageLoad pageLoad) {
+            if (pageLoad.loadMs() >= 0) {
+                load.record(Math.round(pageLoad.loadMs() * 1000));
+            }
+            if (pageLoad.lcpMs() >= 0) {
+                lcp.record(Math.round(pageLoad.lcpMs() * 1000));
+            }
+            worstCls = Math.max(worstCls, pageLoad.cls());
+        }
+
+        Map<String, Object> toMap() {
+            Map<String, Object> map = new LinkedHashMap<>();
+            map.put("loads", load.getCount());
+            map.put("loadP50Ms", load.getPercentile(50) / 1000);
+            map.put("loadP95Ms", load.getPercentile(95) / 1000);
+            map.put("loadMaxMs", load.getMax() / 1000);
+            map.put("lcpP50Ms", lcp.getPercentile(50) / 1000);
+            map.put("lcpP95Ms", lcp.getPercentile(95) / 1000);
+            map.put("worstCls", Math.round(worstCls * 1000) / 1000.0);
+            return map;
+        }
+    }
+}
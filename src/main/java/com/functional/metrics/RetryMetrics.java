@@ -0,0 +1,105 @@
+package com.functional.metrics;
+
+import org.openqa.selenium.json.Json;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Counts retries: in-place step retries per page-object action and exception type, and
+ * whole-test reruns per test method. The step retries of the test running on each thread are
+ * kept too, for that test's report and its retry budget.
+ */
+public final class RetryMetrics {
+    private static final Map<String, Map<String, LongAdder>> stepRetries = new ConcurrentHashMap<>();
+    private static final Map<String, Map<String, LongAdder>> testRetries = new ConcurrentHashMap<>();
+    // Synchronized because a test's worker threads can share it (see TestMetricsContext)
+    private static final ThreadLocal<List<StepRetry>> testStepRetries =
+            ThreadLocal.withInitial(() -> Collections.synchronizedList(new ArrayList<>()));
+
+    private RetryMetrics() {
+    }
+
+    public static void recordStepRetry(String step, String target, Throwable cause) {
+        count(stepRetries, step, cause);
+        testStepRetries.get().add(new StepRetry(step, target, cause.getClass().getSimpleName()));
+    }
+
+    public static void recordTestRetry(String test, Throwable cause) {
+        count(testRetries, test, cause);
+    }
+
+    private static void count(Map<String, Map<String, LongAdder>> counts, String name, Throwable cause) {
+        counts.computeIfAbsent(name, key -> new ConcurrentHashMap<>())
+                .computeIfAbsent(cause.getClass().getSimpleName(), key -> new LongAdder())
+                .increment();
+    }
+
+    public static void startTest() {
+        testStepRetries.get().clear();
+    }
+
+    /**
+     * Step retries made by the test running on this thread, in order.
+     */
+    public static List<StepRetry> getTestStepRetries() {
+        return List.copyOf(testStepRetries.get());
+    }
+
+    public static int getTestStepRetryCount() {
+        return testStepRetries.get().size();
+    }
+
+    static List<StepRetry> testStepRetries() {
+        return testStepRetries.get();
+    }
+
+    static void useTestStepRetries(List<StepRetry> retries) {
+        testStepRetries.set(retries);
+    }
+
+    /**
+     * Retry counts by action or test, then by exception type.
+     */
+    public static Map<String, Object> summary() {
+        Map<String, Object> summary = new LinkedHashMap<>();
+        summary.put("stepRetries", toMap(stepRetries));
+        summary.put("testRetries", toMap(testRetries));
+        return summary;
+    }
+
+    private static Map<String, Map<String, Long>> toMap(Map<String, Map<String, LongAdder>> counts) {
+        Map<String, Map<String, Long>> map = new TreeMap<>();
+        counts.forEach((name, byCause) -> {
+            Map<String, Long> causes = new TreeMap<>();
+            byCause.forEach((cause, count) -> causes.put(cause, count.sum()));
+            map.put(name, causes);
+        });
+        return map;
+    }
+
+    public static void writeJson(Path file) throws IOException {
+        Files.createDirectories(file.toAbsolutePath().getParent());
+        Files.writeString(file, new Json().toJson(summary()));
+    }
+
+    public record StepRetry(String step, String target, String cause) {
+
+        public Map<String, Object> toMap() {
+            Map<String, Object> map = new LinkedHashMap<>();
+            map.put("step", step);
+            map.put("target", target);
+            map.put("cause", cause);
+            return map;
+        }
+    }
+}
@@ -0,0 +1,13 @@
+package com.functional.metrics;
+
+/**
+ * Raised when a page-object action sends more WebDriver commands, or takes longer, than its
+ * declared budget. An AssertionError so that page-level catch (Exception) blocks do not
+ * rewrap it and the test fails with the budget message.
+ */
+public class RoundTripBudgetExceededException extends AssertionError {
+
+    public RoundTripBudgetExceededException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,67 @@
+package com.functional.metrics;
+
+import com.functional.config.ConfigManager;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Per-action limits on WebDriver commands and elapsed time, declared in configuration as
+ * {@code budget.<PageClass>.<action>=<maxCommands>[,<maxMillis>]}. An exceeded budget is
+ * logged, or fails the test when {@code budget.mode=fail}.
+ */
+public final class RoundTripBudgets {
+    private static final Logger logger = LoggerFactory.getLogger(RoundTripBudgets.class);
+    private static final String PREFIX = "budget.";
+    private static final Map<String, Budget> budgets = new ConcurrentHashMap<>();
+    private static final boolean failOnExceed;
+
+    static {
+        ConfigManager config = ConfigManager.getInstance();
+        failOnExceed = "fail".equalsIgnoreCase(config.getProperty("budget.mode"));
+        config.getPropertiesWithPrefix(PREFIX).forEach((step, value) -> {
+            if (!step.equals("mode")) {
+                budgets.put(step, Budget.parse(PREFIX + step, value));
+            }
+        });
+    }
+
+    private RoundTripBudgets() {
+    }
+
+    static void check(String step, long commands, long elapsedMillis) {
+        Budget budget = budgets.get(step);
+        if (budget == null) {
+            return;
+        }
+        String violation = null;
+        if (commands > budget.maxCommands()) {
+            violation = step + " sent " + commands + " WebDriver commands, budget is " + budget.maxCommands();
+        } else if (budget.maxMillis() > 0 && elapsedMillis > budget.maxMillis()) {
+            violation = step + " took " + elapsedMillis + " ms, budget is " + budget.maxMillis() + " ms";
+        }
+        if (violation == null) {
+            return;
+        }
+        if (failOnExceed) {
+            throw new RoundTripBudgetExceededException(violation);
+        }
+        logger.warn("Round-trip budget exceeded: {}", violation);
+    }
+
+    private record Budget(long maxCommands, long maxMillis) {
+        static Budget parse(String key, String value) {
+            String[] parts = value.split(",");
+            try {
+                long commands = Long.parseLong(parts[0].trim());
+                long millis = parts.length > 1 ? Long.parseLong(parts[1].trim()) : 0;
+                return new Budget(commands, millis);
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("Invalid budget " + key + "=" + value
+                        + ", expected <maxCommands>[,<maxMillis>]", e);
+            }
+        }
+    }
+}
@@ -0,0 +1,94 @@
+package com.functional.metrics;
+
+import org.openqa.selenium.json.Json;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Suite-wide latency histograms per page-object action, plus the timings of the test running
+ * on each thread so they can be attached to that test's report.
+ */
+public final class StepMetrics {
+    private static final Map<String, LatencyHistogram> histograms = new ConcurrentHashMap<>();
+    // Synchronized because a test's worker threads can share it (see TestMetricsContext)
+    private static final ThreadLocal<List<StepTiming>> testTimings =
+            ThreadLocal.withInitial(() -> Collections.synchronizedList(new ArrayList<>()));
+
+    private StepMetrics() {
+    }
+
+    public static StepTimer start(String step) {
+        return new StepTimer(step);
+    }
+
+    static void record(String step, long nanos) {
+        long micros = nanos / 1_000;
+        histograms.computeIfAbsent(step, name -> new LatencyHistogram()).record(micros);
+        testTimings.get().add(new StepTiming(step, micros));
+    }
+
+    /**
+     * Forgets the timings collected on this thread; called when a test starts.
+     */
+    public static void startTest() {
+        testTimings.get().clear();
+    }
+
+    /**
+     * Timings recorded on this thread since the current test started, in call order.
+     */
+    public static List<StepTiming> getTestTimings() {
+        return List.copyOf(testTimings.get());
+    }
+
+    static List<StepTiming> testTimings() {
+        return testTimings.get();
+    }
+
+    static void useTestTimings(List<StepTiming> timings) {
+        testTimings.set(timings);
+    }
+
+    public static LatencyHistogram getHistogram(String step) {
+        return histograms.get(step);
+    }
+
+    /**
+     * Summary per action: count, mean, p50, p95, p99 and max, all in milliseconds.
+     */
+    public static Map<String, Map<String, Object>> summary() {
+        Map<String, Map<String, Object>> summary = new TreeMap<>();
+        histograms.forEach((step, histogram) -> {
+            Map<String, Object> stats = new LinkedHashMap<>();
+            stats.put("count", histogram.getCount());
+            stats.put("meanMs", round(histogram.getMean()));
+            stats.put("p50Ms", round(histogram.getPercentile(50)));
+            stats.put("p95Ms", round(histogram.getPercentile(95)));
+            stats.put("p99Ms", round(histogram.getPercentile(99)));
+            stats.put("maxMs", round(histogram.getMax()));
+            summary.put(step, stats);
+        });
+        return summary;
+    }
+
+    public static void writeJson(Path file) throws IOException {
+        Files.createDirectories(file.toAbsolutePath().getParent());
+        Files.writeString(file, new Json().toJson(summary()));
+    }
+
+    private static double round(double micros) {
+        return Math.round(micros / 100.0) / 10.0;
+    }
+
+    public record StepTiming(String step, long micros) {
+    }
+}
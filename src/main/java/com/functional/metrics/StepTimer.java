@@ -0,0 +1,32 @@
+package com.functional.metrics;
+
+/**
+ * Times one page-object action; closing it records the elapsed time and checks the action's
+ * round-trip budget. Meant for try-with-resources around the action body.
+ */
+public final class StepTimer implements AutoCloseable {
+    private final String step;
+    private final long startNanos;
+    private final long startCommands;
+    private boolean closed;
+
+    StepTimer(String step) {
+        this.step = step;
+        this.startCommands = CommandMetrics.threadCommandCount();
+        this.startNanos = System.nanoTime();
+    }
+
+    public String getStep() {
+        return step;
+    }
+
+    @Override
+    public void close() {
+        if (!closed) {
+            closed = true;
+            long elapsed = System.nanoTime() - startNanos;
+            StepMetrics.record(step, elapsed);
+            RoundTripBudgets.check(step, CommandMetrics.threadCommandCount() - startCommands, elapsed / 1_000_000);
+        }
+    }
+}
@@ -0,0 +1,60 @@
+package com.functional.metrics;
+
+import com.functional.metrics.PageLoadMetrics.PageLoad;
+import com.functional.metrics.RetryMetrics.StepRetry;
+import com.functional.metrics.StepMetrics.StepTiming;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The per-test metrics of one thread: step timings, command counts, page loads and step
+ * retries. A test that hands work to other threads captures its context and attaches it on
+ * each of them, so what they do is reported with the test and draws on the test's retry
+ * budget. The per-thread command counter behind round-trip budgets stays with each thread,
+ * as an action never spans threads.
+ */
+public final class TestMetricsContext {
+    private final List<StepTiming> timings;
+    private final Map<String, long[]> commands;
+    private final List<PageLoad> loads;
+    private final List<StepRetry> retries;
+
+    private TestMetricsContext(List<StepTiming> timings, Map<String, long[]> commands,
+                               List<PageLoad> loads, List<StepRetry> retries) {
+        this.timings = timings;
+        this.commands = commands;
+        this.loads = loads;
+        this.retries = retries;
+    }
+
+    /**
+     * The context of the test running on this thread.
+     */
+    public static TestMetricsContext current() {
+        return new TestMetricsContext(StepMetrics.testTimings(), CommandMetrics.testStats(),
+                PageLoadMetrics.testLoads(), RetryMetrics.testStepRetries());
+    }
+
+    /**
+     * Records this thread's per-test metrics into this context until the returned scope is
+     * closed, which puts back what the thread had before.
+     */
+    public Scope attach() {
+        TestMetricsContext previous = current();
+        install(this);
+        return () -> install(previous);
+    }
+
+    private static void install(TestMetricsContext context) {
+        StepMetrics.useTestTimings(context.timings);
+        CommandMetrics.useTestStats(context.commands);
+        PageLoadMetrics.useTestLoads(context.loads);
+        RetryMetrics.useTestStepRetries(context.retries);
+    }
+
+    public interface Scope extends AutoCloseable {
+        @Override
+        void close();
+    }
+}
@@ -1,26 +1,31 @@
 package com.functional.pages;
 
+import com.functional.locators.Locators;
+import com.functional.metrics.StepTimer;
 import org.openqa.selenium.By;
 import org.openqa.selenium.WebDriver;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.LinkedHashMap;
+import java.util.Map;
+
 public class AmazonCheckoutPage extends BasePage {
     private static final Logger logger = LoggerFactory.getLogger(AmazonCheckoutPage.class);
     // Locators using relative XPath
-    private final By fullNameInput = By.xpath("//input[@name='enterAddressFullName']");
-    private final By addressLine1Input = By.xpath("//input[@name='enterAddressAddressLine1']");
-    private final By addressLine2Input = By.xpath("//input[@name='enterAddressAddressLine2']");
-    private final By cityInput = By.xpath("//input[@name='enterAddressCity']");
-    private final By stateInput = By.xpath("//input[@name='enterAddressStateOrRegion']");
-    private final By pincodeInput = By.xpath("//input[@name='enterAddressPostalCode']");
-    private final By phoneNumberInput = By.xpath("//input[@name='enterAddressPhoneNumber']");
-    private final By codPaymentMethod = By.xpath("//input[@name='ppw-instrumentRowSelection' and contains(@value, 'COD')]");
-    private final By placeOrderButton = By.xpath("//input[@name='placeYourOrder1']");
-    private final By orderNumber = By.xpath("//div[contains(@class, 'order-number')]//span");
-    private final By deliveryDate = By.xpath("//div[contains(@class, 'delivery-date')]//span");
-    private final By cancelOrderButton = By.xpath("//a[contains(text(), 'Cancel')]");
-    private final By confirmCancelButton = By.xpath("//input[@value='Cancel Order']");
+    private static final By fullNameInput = Locators.xpath("//input[@name='enterAddressFullName']");
+    private static final By addressLine1Input = Locators.xpath("//input[@name='enterAddressAddressLine1']");
+    private static final By addressLine2Input = Locators.xpath("//input[@name='enterAddressAddressLine2']");
+    private static final By cityInput = Locators.xpath("//input[@name='enterAddressCity']");
+    private static final By stateInput = Locators.xpath("//input[@name='enterAddressStateOrRegion']");
+    private static final By pincodeInput = Locators.xpath("//input[@name='enterAddressPostalCode']");
+    private static final By phoneNumberInput = Locators.xpath("//input[@name='enterAddressPhoneNumber']");
+    private static final By codPaymentMethod = Locators.xpath("//input[@name='ppw-instrumentRowSelection' and contains(@value, 'COD')]");
+    private static final By placeOrderButton = Locators.xpath("//input[@name='placeYourOrder1']");
+    private static final By orderNumber = Locators.xpath("//div[contains(@class, 'order-number')]//span");
+    private static final By deliveryDate = Locators.xpath("//div[contains(@class, 'delivery-date')]//span");
+    private static final By cancelOrderButton = Locators.xpath("//a[contains(text(), 'Cancel')]");
+    private static final By confirmCancelButton = Locators.xpath("//input[@value='Cancel Order']");
 
     public AmazonCheckoutPage(WebDriver driver) {
         super(driver);
@@ -30,27 +35,31 @@ public class AmazonCheckoutPage extends BasePage {
     public void fillShippingAddress(String fullName, String addressLine1, String addressLine2, 
                                   String city, String state, String pincode, String phoneNumber) {
         logger.info("Filling shipping address form");
-        try {
+        try (StepTimer ignored = timeStep("fillShippingAddress")) {
+            Map<By, String> address = new LinkedHashMap<>();
             logger.debug("Entering full name: {}", maskSensitiveData(fullName));
-            sendKeys(fullNameInput, fullName);
+            address.put(fullNameInput, fullName);
             
             logger.debug("Entering address line 1: {}", maskSensitiveData(addressLine1));
-            sendKeys(addressLine1Input, addressLine1);
+            address.put(addressLine1Input, addressLine1);
             
             logger.debug("Entering address line 2: {}", maskSensitiveData(addressLine2));
-            sendKeys(addressLine2Input, addressLine2);
+            address.put(addressLine2Input, addressLine2);
             
             logger.debug("Entering city: {}", maskSensitiveData(city));
-            sendKeys(cityInput, city);
+            address.put(cityInput, city);
             
             logger.debug("Entering state: {}", maskSensitiveData(state));
-            sendKeys(stateInput, state);
+            address.put(stateInput, state);
             
             logger.debug("Entering pincode: {}", maskSensitiveData(pincode));
-            sendKeys(pincodeInput, pincode);
+            address.put(pincodeInput, pincode);
             
             logger.debug("Entering phone number: {}", maskSensitiveData(phoneNumber));
-            sendKeys(phoneNumberInput, phoneNumber);
+            address.put(phoneNumberInput, phoneNumber);
+
+            // Resolve and set all fields in a single round trip
+            fillForm(address);
             
             logger.info("Successfully filled shipping address form");
         } catch (Exception e) {
@@ -60,7 +69,7 @@ public class AmazonCheckoutPage extends BasePage {
         }
     }
     
-    private String maskSensitiveData(String data) {
+    static String maskSensitiveData(String data) {
         if (data == null || data.length() < 4) {
             return "[MASKED]";
         }
@@ -69,7 +78,7 @@ public class AmazonCheckoutPage extends BasePage {
 
     public void selectCODPayment() {
         logger.info("Selecting Cash on Delivery payment method");
-        try {
+        try (StepTimer ignored = timeStep("selectCODPayment")) {
             click(codPaymentMethod);
             logger.info("Successfully selected Cash on Delivery");
         } catch (Exception e) {
@@ -81,7 +90,7 @@ public class AmazonCheckoutPage extends BasePage {
 
     public void placeOrder() {
         logger.info("Placing order");
-        try {
+        try (StepTimer ignored = timeStep("placeOrder")) {
             click(placeOrderButton);
             logger.info("Successfully placed order");
         } catch (Exception e) {
@@ -93,7 +102,7 @@ public class AmazonCheckoutPage extends BasePage {
 
     public String getOrderNumber() {
         logger.debug("Retrieving order number");
-        try {
+        try (StepTimer ignored = timeStep("getOrderNumber")) {
             String orderNum = getText(orderNumber);
             logger.info("Retrieved order number: {}", orderNum);
             return orderNum;
@@ -106,7 +115,7 @@ public class AmazonCheckoutPage extends BasePage {
 
     public String getDeliveryDate() {
         logger.debug("Retrieving delivery date");
-        try {
+        try (StepTimer ignored = timeStep("getDeliveryDate")) {
             String date = getText(deliveryDate);
             logger.info("Retrieved delivery date: {}", date);
             return date;
@@ -119,7 +128,7 @@ public class AmazonCheckoutPage extends BasePage {
 
     public void cancelOrder() {
         logger.info("Starting order cancellation process");
-        try {
+        try (StepTimer ignored = timeStep("cancelOrder")) {
             logger.debug("Clicking cancel order button");
             click(cancelOrderButton);
             
@@ -1,124 +1,122 @@
 package com.functional.pages;
 
+import com.functional.config.ConfigManager;
+import com.functional.locators.Locators;
+import com.functional.metrics.StepTimer;
+import com.functional.session.SessionStore;
 import org.openqa.selenium.By;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.TimeoutException;
 import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.WebElement;
 import org.openqa.selenium.support.ui.ExpectedConditions;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
 
 public class AmazonHomePage extends BasePage {
     private static final Logger logger = LoggerFactory.getLogger(AmazonHomePage.class);
     // Locators using relative XPath
-    private final By searchBox = By.xpath("//input[@type='text' and contains(@placeholder, 'Search')]");
-    private final By searchButton = By.xpath("//input[@type='submit' and @value='Go']");
-    private final By searchResults = By.xpath("//div[contains(@class, 's-result-item') and @data-component-type='s-search-result']");
+    private static final By searchBox = Locators.xpath("//input[@type='text' and contains(@placeholder, 'Search')]");
+    private static final By searchButton = Locators.xpath("//input[@type='submit' and @value='Go']");
+    private static final By searchResults = Locators.xpath("//div[contains(@class, 's-result-item') and @data-component-type='s-search-result']");
     
     // Updated login locators
-    private final By signInButton = By.xpath("//a[contains(@data-nav-role, 'signin') or contains(@href, 'signin')]");
-    private final By emailInput = By.xpath("//input[@type='email' or @id='ap_email']");
-    private final By continueButton = By.xpath("//input[@type='submit' and (contains(@id,'continue') or contains(@aria-labelledby,'continue') or contains(@class,'continue'))]");
-    private final By passwordInput = By.xpath("//input[@type='password' or @id='ap_password']");
-    private final By signInSubmitButton = By.xpath("//input[@type='submit' and (contains(@id,'signInSubmit') or contains(@class,'signin'))]");
-    private final By pageLoadIndicator = By.xpath("//div[@id='glow-toaster-body']");
-    private final By errorMessage = By.xpath("//div[contains(@class, 'alert') or contains(@class, 'error')]");
+    private static final By signInButton = Locators.xpath("//a[contains(@data-nav-role, 'signin') or contains(@href, 'signin')]");
+    private static final By emailInput = Locators.xpath("//input[@type='email' or @id='ap_email']");
+    private static final By continueButton = Locators.xpath("//input[@type='submit' and (contains(@id,'continue') or contains(@aria-labelledby,'continue') or contains(@class,'continue'))]");
+    private static final By passwordInput = Locators.xpath("//input[@type='password' or @id='ap_password']");
+    private static final By signInSubmitButton = Locators.xpath("//input[@type='submit' and (contains(@id,'signInSubmit') or contains(@class,'signin'))]");
+    private static final By pageLoadIndicator = Locators.xpath("//div[@id='glow-toaster-body']");
+    private static final By accountGreeting = Locators.css("#nav-link-accountList-nav-line-1");
+    private static final By errorMessage = Locators.xpath("//div[contains(@class, 'alert') or contains(@class, 'error')]");
 
     public AmazonHomePage(WebDriver driver) {
         super(driver);
     }
 
     public void navigateToHomePage() {
-        driver.get("https://www.amazon.in");
-        // Wait for any page load indicators to disappear
-        try {
-            wait.until(ExpectedConditions.invisibilityOfElementLocated(pageLoadIndicator));
-        } catch (Exception e) {
-            // Ignore if indicator is not present
+        try (StepTimer ignored = timeStep("navigateToHomePage")) {
+            navigateTo(ConfigManager.getInstance().getBaseUrl());
+            // Wait for any page load indicators to disappear; returns at once if there is none
+            waitForAbsence(pageLoadIndicator, waitPolicy.getTimeout());
         }
     }
 
     public void searchProduct(String productName) {
-        WebElement searchBoxElement = waitForElement(searchBox);
-        searchBoxElement.clear();
-        searchBoxElement.sendKeys(productName);
-        click(searchButton);
-        
-        // Wait for search results to appear within 10 seconds
-        try {
-            long startTime = System.currentTimeMillis();
-            long maxWaitTime = 10000; // 10 seconds in milliseconds
-            boolean resultsFound = false;
-            
-            while ((System.currentTimeMillis() - startTime) < maxWaitTime) {
-                try {
-                    List<WebElement> results = driver.findElements(searchResults);
-                    if (!results.isEmpty() && results.get(0).isDisplayed()) {
-                        resultsFound = true;
-                        break;
-                    }
-                } catch (Exception e) {
-                    // Ignore and continue waiting
-                }
-                Thread.sleep(500); // Check every 500ms
-            }
-            
-            if (!resultsFound) {
-                throw new RuntimeException("Search results did not appear within 10 seconds");
+        try (StepTimer ignored = timeStep("searchProduct")) {
+            sendKeys(searchBox, productName);
+            click(searchButton);
+
+            // Resolves as soon as the first result is rendered instead of polling
+            try {
+                awaitVisible(searchResults);
+            } catch (TimeoutException e) {
+                throw new RuntimeException("Search results did not appear within "
+                        + waitPolicy.getTimeout().toSeconds() + " seconds", e);
             }
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt();
-            throw new RuntimeException("Search was interrupted", e);
         }
     }
 
+    /**
+     * Counts the results in the page with one script call instead of fetching an element
+     * reference per result.
+     */
     public int getSearchResultsCount() {
-        List<WebElement> results = driver.findElements(searchResults);
-        return results.size();
+        String[] remote = PageScripts.remoteLocator(searchResults);
+        Object count = ((JavascriptExecutor) driver).executeScript(PageScripts.COUNT_ELEMENTS, remote[0], remote[1]);
+        return ((Number) count).intValue();
+    }
+
+    /**
+     * Reads every result on the page, in page order, with a single script call however many
+     * results there are.
+     */
+    public List<SearchResult> getSearchResults() {
+        try (StepTimer ignored = timeStep("getSearchResults")) {
+            String[] remote = PageScripts.remoteLocator(searchResults);
+            List<?> items = (List<?>) ((JavascriptExecutor) driver)
+                    .executeScript(PageScripts.EXTRACT_SEARCH_RESULTS, remote[0], remote[1]);
+            List<SearchResult> results = new ArrayList<>(items.size());
+            for (Object item : items) {
+                results.add(SearchResult.fromScript((Map<?, ?>) item));
+            }
+            logger.debug("Read {} search results", results.size());
+            return results;
+        }
     }
 
     public void login(String email, String password) {
-        try {
+        try (StepTimer ignored = timeStep("login")) {
             // Click sign in button
-            WebElement signInBtn = waitForElement(signInButton);
-            logger.debug("Sign in button found: {}", signInBtn != null);
-            signInBtn.click();
+            click(signInButton);
             
             // Wait for email input and enter email
-            WebElement emailElem = waitForElement(emailInput);
-            logger.debug("Email input found: {}", emailElem != null);
-            emailElem.clear();
-            emailElem.sendKeys(email);
+            sendKeys(emailInput, email);
             
             // Click continue button
-            WebElement continueBtn = new org.openqa.selenium.support.ui.WebDriverWait(driver, java.time.Duration.ofSeconds(20))
-                .until(org.openqa.selenium.support.ui.ExpectedConditions.elementToBeClickable(continueButton));
-            logger.debug("Continue button found: {}", continueBtn != null);
-            continueBtn.click();
+            click(continueButton);
             
-            // Check for any error messages
-            try {
-                WebElement error = driver.findElement(errorMessage);
-                if (error.isDisplayed()) {
-                    String errorMsg = "Login error: " + error.getText();
-                    logger.error(errorMsg);
-                    throw new RuntimeException(errorMsg);
-                }
-            } catch (Exception e) {
-                // No error message found, continue
-                logger.debug("No error message found, continuing with login");
+            // The page answers with either the password field or a login error; wait for whichever comes first
+            wait.until(ExpectedConditions.or(
+                    ExpectedConditions.visibilityOfElementLocated(passwordInput),
+                    ExpectedConditions.visibilityOfElementLocated(errorMessage)));
+            Optional<WebElement> error = findNow(errorMessage).filter(WebElement::isDisplayed);
+            if (error.isPresent()) {
+                String errorMsg = "Login error: " + error.get().getText();
+                logger.error(errorMsg);
+                throw new RuntimeException(errorMsg);
             }
+            logger.debug("No error message found, continuing with login");
             
             // Wait for password input and enter password
-            WebElement passwordElem = waitForElement(passwordInput);
-            logger.debug("Password input found: {}", passwordElem != null);
-            passwordElem.clear();
-            passwordElem.sendKeys(password);
+            sendKeys(passwordInput, password);
             
             // Click sign in submit button
-            WebElement signInSubmitBtn = waitForElement(signInSubmitButton);
-            logger.debug("Sign in submit button found: {}", signInSubmitBtn != null);
-            signInSubmitBtn.click();
+            click(signInSubmitButton);
             
             // Wait for login to complete
             wait.until(ExpectedConditions.presenceOfElementLocated(searchBox));
@@ -132,6 +130,31 @@ public class AmazonHomePage extends BasePage {
         }
     }
 
+    /**
+     * Leaves the browser signed in on the home page, restoring a saved session for this account
+     * when possible and signing in through the UI (then saving the session) otherwise. Tests
+     * that are not about the sign-in flow itself should use this instead of {@link #login}.
+     */
+    public void ensureLoggedIn(String email, String password) {
+        try (StepTimer ignored = timeStep("ensureLoggedIn")) {
+            elementCache.invalidate();
+            SessionStore.getInstance().signIn(driver, ConfigManager.getInstance().getBaseUrl(), email,
+                    browser -> login(email, password),
+                    browser -> isLoggedIn());
+            elementCache.invalidate();
+        }
+    }
+
+    /**
+     * True when the navigation bar greets a signed-in user rather than offering to sign in.
+     */
+    public boolean isLoggedIn() {
+        return findNow(accountGreeting)
+                .map(WebElement::getText)
+                .map(text -> !text.isBlank() && !text.toLowerCase().contains("sign in"))
+                .orElse(false);
+    }
+
     public boolean isHomePageLoaded() {
         try {
             return waitForElement(searchBox).isDisplayed();
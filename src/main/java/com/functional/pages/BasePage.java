@@ -1,31 +1,76 @@
 package com.functional.pages;
 
+import com.functional.config.ConfigManager;
+import com.functional.metrics.PageLoadMetrics;
+import com.functional.metrics.PageLoadMetrics.PageLoad;
+import com.functional.metrics.RetryMetrics;
+import com.functional.metrics.StepMetrics;
+import com.functional.metrics.StepTimer;
+import com.functional.retry.FailureClassifier;
 import org.openqa.selenium.By;
+import org.openqa.selenium.ElementNotInteractableException;
+import org.openqa.selenium.JavascriptException;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.Keys;
+import org.openqa.selenium.NoSuchElementException;
+import org.openqa.selenium.StaleElementReferenceException;
+import org.openqa.selenium.TimeoutException;
 import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.WebElement;
+import org.openqa.selenium.interactions.Actions;
 import org.openqa.selenium.support.ui.ExpectedConditions;
 import org.openqa.selenium.support.ui.WebDriverWait;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.function.Supplier;
 
 public abstract class BasePage {
+    private static final int MAX_OBSERVER_ATTEMPTS = 5;
+    private static final int STABLE_FRAMES = 2;
+    // In-page visibility re-check of the DOM observer wait; costs no round trips
+    private static final int VISIBILITY_RECHECK_MILLIS = 50;
+    private static final int MAX_RANGE_STEPS = 1000;
+    // Enough for a binary search over 2^20 slider positions
+    private static final int MAX_RANGE_PROBES = 20;
+    private static final int SLOWEST_RESOURCES = 5;
+    private static final boolean CAPTURE_PAGE_LOADS = ConfigManager.getInstance().isPageLoadCaptureEnabled();
+    private static final int STEP_ATTEMPTS = ConfigManager.getInstance().getStepRetryAttempts();
+    private static final int TEST_RETRY_BUDGET = ConfigManager.getInstance().getTestRetryBudget();
+
     protected final WebDriver driver;
+    protected final WaitPolicy waitPolicy;
     protected final WebDriverWait wait;
     protected final Logger logger;
+    protected final ElementCache elementCache = new ElementCache();
     protected String defaultWindow;
 
     protected BasePage(WebDriver driver) {
         this.driver = driver;
-        this.wait = new WebDriverWait(driver, Duration.ofSeconds(10));
+        this.waitPolicy = WaitPolicy.defaults();
+        this.wait = waitPolicy.newWait(driver);
         this.logger = LoggerFactory.getLogger(getClass());
         logger.debug("Initialized {}", getClass().getSimpleName());
     }
 
+    /**
+     * Starts timing a page action under "PageClass.action"; close it (try-with-resources)
+     * when the action ends.
+     */
+    protected StepTimer timeStep(String action) {
+        return StepMetrics.start(getClass().getSimpleName() + "." + action);
+    }
+
     protected WebElement waitForElement(By locator) {
         logger.debug("Waiting for element to be visible: {}", locator);
         try {
             WebElement element = wait.until(ExpectedConditions.visibilityOfElementLocated(locator));
+            elementCache.put(locator, element);
             logger.trace("Element found and visible: {}", locator);
             return element;
         } catch (Exception e) {
@@ -34,10 +79,160 @@ public abstract class BasePage {
         }
     }
 
+    /**
+     * Waits for a visible element using a MutationObserver injected into the page, so the
+     * wait resolves as soon as the DOM produces the element and costs one round trip. Changes
+     * that are not mutations (stylesheets, animations) are caught by an in-page re-check.
+     */
+    protected WebElement awaitVisible(By locator) {
+        return awaitElement(locator, true, waitPolicy.getTimeout());
+    }
+
+    protected WebElement awaitVisible(By locator, Duration timeout) {
+        return awaitElement(locator, true, timeout);
+    }
+
+    protected WebElement awaitPresent(By locator, Duration timeout) {
+        return awaitElement(locator, false, timeout);
+    }
+
+    private WebElement awaitElement(By locator, boolean requireVisible, Duration timeout) {
+        logger.debug("Awaiting {} element via DOM observer: {}", requireVisible ? "visible" : "present", locator);
+        String[] remote = PageScripts.remoteLocator(locator);
+        long start = System.nanoTime();
+        long deadline = start + timeout.toNanos();
+        int attempts = 0;
+        while (true) {
+            long remaining = Math.max(0, (deadline - System.nanoTime()) / 1_000_000);
+            try {
+                attempts++;
+                Object result = ((JavascriptExecutor) driver).executeAsyncScript(
+                        PageScripts.AWAIT_ELEMENT, remote[0], remote[1], requireVisible, remaining,
+                        VISIBILITY_RECHECK_MILLIS);
+                if (result instanceof WebElement) {
+                    logger.trace("Element {} resolved after {} ms in {} round trip(s)",
+                            locator, (System.nanoTime() - start) / 1_000_000, attempts);
+                    return (WebElement) result;
+                }
+                break;
+            } catch (JavascriptException e) {
+                // The document was replaced by a navigation while observing; observe the new one
+                if (System.nanoTime() >= deadline || attempts >= MAX_OBSERVER_ATTEMPTS) {
+                    throw e;
+                }
+                logger.trace("DOM observer interrupted by navigation, re-arming for {}", locator);
+            }
+        }
+        throw new TimeoutException("Expected condition failed: waiting for "
+                + (requireVisible ? "visibility" : "presence") + " of element located by " + locator
+                + " (tried for " + timeout.toMillis() + " ms)");
+    }
+
+    /**
+     * Scrolls the element into the centre of the viewport and returns once it has stopped
+     * moving and would receive a click at its centre, in a single round trip.
+     */
+    protected WebElement scrollAndAwaitStable(WebElement element) {
+        return scrollAndAwaitStable(element, waitPolicy.getTimeout());
+    }
+
+    protected WebElement scrollAndAwaitStable(WebElement element, Duration timeout) {
+        logger.trace("Scrolling element into view and waiting for it to settle");
+        long start = System.nanoTime();
+        Object state = ((JavascriptExecutor) driver).executeAsyncScript(
+                PageScripts.SCROLL_AND_AWAIT_STABLE, element, STABLE_FRAMES, timeout.toMillis());
+        if (!"ready".equals(state)) {
+            throw new ElementNotInteractableException("Element did not become interactable within "
+                    + timeout.toMillis() + " ms: " + state);
+        }
+        logger.trace("Element settled after {} ms", (System.nanoTime() - start) / 1_000_000);
+        return element;
+    }
+
+    /**
+     * Reads the bounds and current position of a range input in one round trip and focuses it.
+     */
+    protected RangeState readRange(WebElement slider) {
+        @SuppressWarnings("unchecked")
+        Map<String, Object> state = (Map<String, Object>) ((JavascriptExecutor) driver)
+                .executeScript(PageScripts.READ_RANGE, slider);
+        return new RangeState(
+                ((Number) state.get("min")).doubleValue(),
+                ((Number) state.get("max")).doubleValue(),
+                ((Number) state.get("step")).doubleValue(),
+                ((Number) state.get("value")).doubleValue(),
+                (String) state.get("valueText"));
+    }
+
+    /**
+     * Moves a range input to a numeric value with a single batch of arrow-key presses.
+     */
+    protected void setRangeValue(WebElement slider, double target) {
+        RangeState range = readRange(slider);
+        if (target < range.min() || target > range.max()) {
+            throw new IllegalArgumentException("Target " + target + " is outside the range input bounds ["
+                    + range.min() + ", " + range.max() + "]");
+        }
+        double steps = (target - range.value()) / range.step();
+        int presses = (int) Math.round(steps);
+        if (Math.abs(steps - presses) > 1e-6) {
+            throw new IllegalArgumentException("Target " + target + " is not reachable from " + range.value()
+                    + " in steps of " + range.step());
+        }
+        logger.debug("Moving range input from {} to {} with {} key presses", range.value(), target, presses);
+        pressRangeKeys(slider, presses);
+
+        RangeState result = readRange(slider);
+        if (Math.abs(result.value() - target) > range.step() / 2) {
+            throw new IllegalStateException("Range input stopped at " + result.value() + " instead of " + target);
+        }
+    }
+
+    /**
+     * Moves a range input to the position whose displayed text (aria-valuetext) equals the
+     * expected text. The offset is located in the browser in one script call (a binary search
+     * over the displayed amounts), then applied with a single batch of native key presses so
+     * the page sees trusted events.
+     */
+    protected void setRangeValueText(WebElement slider, String expectedText) {
+        @SuppressWarnings("unchecked")
+        Map<String, Object> offset = (Map<String, Object>) ((JavascriptExecutor) driver)
+                .executeAsyncScript(PageScripts.FIND_RANGE_OFFSET, slider, expectedText, MAX_RANGE_PROBES);
+        if (offset.get("error") != null) {
+            throw new IllegalStateException("Range input cannot be moved to '" + expectedText + "': "
+                    + offset.get("error"));
+        }
+        int presses = ((Number) offset.get("presses")).intValue();
+        logger.debug("Moving range input to '{}' with {} key presses", expectedText, presses);
+        pressRangeKeys(slider, presses);
+
+        String actual = readRange(slider).valueText();
+        if (!expectedText.equals(actual)) {
+            throw new IllegalStateException("Range input shows '" + actual + "' instead of '" + expectedText + "'");
+        }
+    }
+
+    private void pressRangeKeys(WebElement slider, int presses) {
+        if (presses == 0) {
+            return;
+        }
+        if (Math.abs(presses) > MAX_RANGE_STEPS) {
+            throw new IllegalArgumentException("Refusing to send " + Math.abs(presses)
+                    + " key presses to a range input (limit " + MAX_RANGE_STEPS + ")");
+        }
+        Keys key = presses < 0 ? Keys.ARROW_LEFT : Keys.ARROW_RIGHT;
+        // Element Send Keys focuses without clicking, so the thumb does not jump to the pointer
+        slider.sendKeys(key.toString().repeat(Math.abs(presses)));
+    }
+
+    protected record RangeState(double min, double max, double step, double value, String valueText) {
+    }
+
     protected WebElement waitForElementClickable(By locator) {
         logger.debug("Waiting for element to be clickable: {}", locator);
         try {
             WebElement element = wait.until(ExpectedConditions.elementToBeClickable(locator));
+            elementCache.put(locator, element);
             logger.trace("Element is clickable: {}", locator);
             return element;
         } catch (Exception e) {
@@ -46,11 +241,151 @@ public abstract class BasePage {
         }
     }
 
+    /**
+     * Runs an action against the element for a locator, reusing the handle resolved earlier on
+     * this page when it is still displayed (and enabled, for clicks). A cached handle that is
+     * hidden, disabled, stale or no longer interactable is dropped and the action run against a
+     * freshly waited-for element instead.
+     */
+    private <T> T withElement(By locator, boolean clickable, Function<WebElement, T> action) {
+        WebElement cached = elementCache.get(locator);
+        if (cached != null) {
+            try {
+                if (cached.isDisplayed() && (!clickable || cached.isEnabled())) {
+                    return action.apply(cached);
+                }
+                logger.trace("Cached element is no longer {}, re-resolving: {}",
+                        clickable ? "clickable" : "visible", locator);
+                elementCache.evict(locator);
+            } catch (StaleElementReferenceException e) {
+                // The document changed under us, so every cached handle from it is dead
+                logger.trace("Cached element is stale, re-resolving: {}", locator);
+                elementCache.invalidate();
+            } catch (ElementNotInteractableException e) {
+                logger.trace("Cached element is not interactable, re-resolving: {}", locator);
+                elementCache.evict(locator);
+            }
+        }
+        WebElement element = clickable ? waitForElementClickable(locator) : waitForElement(locator);
+        try {
+            return action.apply(element);
+        } catch (StaleElementReferenceException e) {
+            logger.trace("Element went stale right after lookup, retrying once: {}", locator);
+            elementCache.invalidate();
+            return action.apply(clickable ? waitForElementClickable(locator) : waitForElement(locator));
+        }
+    }
+
+    /**
+     * Runs one idempotent action, repeating it in the same session while it fails for a
+     * transient reason ({@link FailureClassifier}): up to retry.step.max.attempts attempts,
+     * and no more than retry.test.budget retries over the whole test. Before each retry the
+     * cached element handles are dropped and the page gets one polling interval to settle.
+     * Any other failure, and assertion errors in particular, propagates on the first attempt.
+     */
+    protected <T> T retryStep(String action, Object target, Supplier<T> attemptAction) {
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return attemptAction.get();
+            } catch (RuntimeException e) {
+                if (attempt >= STEP_ATTEMPTS || !FailureClassifier.isTransient(e)
+                        || RetryMetrics.getTestStepRetryCount() >= TEST_RETRY_BUDGET) {
+                    throw e;
+                }
+                String step = getClass().getSimpleName() + "." + action;
+                logger.warn("{} on {} failed with {}, retrying ({}/{})",
+                        step, target, e.getClass().getSimpleName(), attempt, STEP_ATTEMPTS - 1);
+                RetryMetrics.recordStepRetry(step, String.valueOf(target), e);
+                elementCache.invalidate();
+                pause(waitPolicy.getPollingInterval());
+            }
+        }
+    }
+
+    private static void pause(Duration duration) {
+        try {
+            Thread.sleep(duration.toMillis());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting to retry", e);
+        }
+    }
+
+    /**
+     * Loads a URL and drops every element handle cached for the previous document.
+     */
+    protected void navigateTo(String url) {
+        logger.debug("Navigating to {}", url);
+        elementCache.invalidate();
+        driver.get(url);
+        if (CAPTURE_PAGE_LOADS) {
+            capturePageLoad();
+        }
+    }
+
+    /**
+     * Reads the browser's timing data for the current document and records it for this test.
+     * Call after actions that load a new document without going through {@link #navigateTo}.
+     * Returns null if the browser could not report it; measuring never fails the action.
+     */
+    @SuppressWarnings("unchecked")
+    protected PageLoad capturePageLoad() {
+        try {
+            Object result = ((JavascriptExecutor) driver).executeAsyncScript(
+                    PageScripts.COLLECT_PAGE_LOAD, SLOWEST_RESOURCES);
+            PageLoad load = PageLoad.fromMap((Map<String, Object>) result);
+            PageLoadMetrics.record(load);
+            logger.debug("Loaded {}: load {} ms, LCP {} ms, CLS {}", load.url(),
+                    Math.round(load.loadMs()), Math.round(load.lcpMs()), load.cls());
+            return load;
+        } catch (Exception e) {
+            logger.warn("Could not read page-load timings", e);
+            return null;
+        }
+    }
+
+    /**
+     * Asserts that the last page loaded in this test fired its load event within the budget.
+     */
+    public void assertLoadedWithin(Duration budget) {
+        PageLoad load = PageLoadMetrics.getLastLoad();
+        if (load == null || load.loadMs() < 0) {
+            throw new AssertionError("No page-load timings recorded for this test");
+        }
+        if (load.loadMs() > budget.toMillis()) {
+            throw new AssertionError(String.format("%s loaded in %d ms (LCP %d ms), budget is %d ms",
+                    load.url(), Math.round(load.loadMs()), Math.round(load.lcpMs()), budget.toMillis()));
+        }
+    }
+
+    /**
+     * Asserts that the largest contentful paint of the last page loaded in this test happened
+     * within the budget. Fails when the browser did not report LCP.
+     */
+    public void assertLargestContentfulPaintWithin(Duration budget) {
+        PageLoad load = PageLoadMetrics.getLastLoad();
+        if (load == null || load.lcpMs() < 0) {
+            throw new AssertionError("No largest contentful paint recorded for this test");
+        }
+        if (load.lcpMs() > budget.toMillis()) {
+            throw new AssertionError(String.format("%s painted its largest content at %d ms, budget is %d ms",
+                    load.url(), Math.round(load.lcpMs()), budget.toMillis()));
+        }
+    }
+
+    public ElementCache getElementCache() {
+        return elementCache;
+    }
+
     protected void click(By locator) {
         logger.debug("Clicking on element: {}", locator);
         try {
-            WebElement element = waitForElementClickable(locator);
-            element.click();
+            retryStep("click", locator, () -> withElement(locator, true, element -> {
+                element.click();
+                return null;
+            }));
+            // A click may submit a form or navigate, leaving every cached handle on a dead page
+            elementCache.invalidate();
             logger.trace("Successfully clicked on element: {}", locator);
         } catch (Exception e) {
             logger.error("Failed to click on element: {}", locator, e);
@@ -62,11 +397,13 @@ public abstract class BasePage {
         if (text == null || text.trim().isEmpty()) {
             logger.warn("Attempting to send empty or null text to element: {}", locator);
         }
-        logger.debug("Sending text '{}' to element: {}", text, locator);
+        logger.debug("Sending {} characters to element: {}", text == null ? 0 : text.length(), locator);
         try {
-            WebElement element = waitForElement(locator);
-            element.clear();
-            element.sendKeys(text);
+            retryStep("sendKeys", locator, () -> withElement(locator, false, element -> {
+                element.clear();
+                element.sendKeys(text);
+                return null;
+            }));
             logger.trace("Successfully entered text in element: {}", locator);
         } catch (Exception e) {
             logger.error("Failed to send keys to element: {}", locator, e);
@@ -74,10 +411,80 @@ public abstract class BasePage {
         }
     }
 
+    /**
+     * Fills a form in one round trip by setting every field in a single script call.
+     */
+    protected void fillForm(Map<By, String> fields) {
+        fillForm(fields, FillMode.FAST);
+    }
+
+    /**
+     * Fills a form, field order following the map's iteration order. The first field is
+     * awaited before filling, the rest are expected to be rendered with it.
+     */
+    protected void fillForm(Map<By, String> fields, FillMode mode) {
+        if (fields.isEmpty()) {
+            return;
+        }
+        logger.debug("Filling {} form fields in {} mode", fields.size(), mode);
+        // Every attempt sets or clears and retypes all fields, so repeating it is harmless
+        retryStep("fillForm", fields.keySet(), () -> {
+            fillFormOnce(fields, mode);
+            return null;
+        });
+        logger.trace("Filled {} form fields", fields.size());
+    }
+
+    private void fillFormOnce(Map<By, String> fields, FillMode mode) {
+        awaitVisible(fields.keySet().iterator().next());
+
+        List<List<String>> remote = new ArrayList<>(fields.size());
+        for (Map.Entry<By, String> field : fields.entrySet()) {
+            String[] locator = PageScripts.remoteLocator(field.getKey());
+            String text = field.getValue() == null ? "" : field.getValue();
+            remote.add(mode == FillMode.FAST ? List.of(locator[0], locator[1], text) : List.of(locator[0], locator[1]));
+        }
+
+        JavascriptExecutor js = (JavascriptExecutor) driver;
+        if (mode == FillMode.FAST) {
+            List<?> missing = (List<?>) js.executeScript(PageScripts.FILL_FORM, remote);
+            if (!missing.isEmpty()) {
+                throw new NoSuchElementException("Form fields not found: " + missing);
+            }
+        } else {
+            List<?> elements = (List<?>) js.executeScript(PageScripts.RESOLVE_AND_CLEAR_FIELDS, remote);
+            Actions typing = new Actions(driver);
+            List<By> missing = new ArrayList<>();
+            int index = 0;
+            for (Map.Entry<By, String> field : fields.entrySet()) {
+                Object element = elements.get(index++);
+                if (element instanceof WebElement) {
+                    typing.click((WebElement) element).sendKeys(field.getValue() == null ? "" : field.getValue());
+                } else {
+                    missing.add(field.getKey());
+                }
+            }
+            if (!missing.isEmpty()) {
+                throw new NoSuchElementException("Form fields not found: " + missing);
+            }
+            typing.perform();
+        }
+    }
+
+    /**
+     * How {@link #fillForm(Map, FillMode)} enters text. FAST sets values through script and
+     * fires input/change events; KEYSTROKE types natively, batched into one Actions chain,
+     * for fields that react to individual key events.
+     */
+    protected enum FillMode {
+        FAST,
+        KEYSTROKE
+    }
+
     protected String getText(By locator) {
         logger.debug("Getting text from element: {}", locator);
         try {
-            String text = waitForElement(locator).getText().trim();
+            String text = retryStep("getText", locator, () -> withElement(locator, false, element -> element.getText().trim()));
             logger.trace("Retrieved text '{}' from element: {}", text, locator);
             return text;
         } catch (Exception e) {
@@ -97,15 +504,53 @@ public abstract class BasePage {
         }
     }
 
+    /**
+     * Waits up to the policy timeout for the element to become visible and returns false if it
+     * does not. Use {@link #isPresentNow} where absence is the expected case.
+     */
     protected boolean isElementPresent(By locator) {
         logger.debug("Checking if element is present: {}", locator);
         try {
-            waitForElement(locator);
+            wait.until(ExpectedConditions.visibilityOfElementLocated(locator));
             logger.trace("Element is present: {}", locator);
             return true;
-        } catch (Exception e) {
+        } catch (TimeoutException e) {
             logger.trace("Element is not present: {}", locator);
             return false;
         }
     }
-} 
\ No newline at end of file
+
+    /**
+     * Non-blocking presence check: one findElements call, no waiting.
+     */
+    protected boolean isPresentNow(By locator) {
+        return !driver.findElements(locator).isEmpty();
+    }
+
+    /**
+     * Returns the first matching element if it is in the DOM right now, without waiting.
+     */
+    protected Optional<WebElement> findNow(By locator) {
+        List<WebElement> elements = driver.findElements(locator);
+        return elements.isEmpty() ? Optional.empty() : Optional.of(elements.get(0));
+    }
+
+    /**
+     * Waits until no visible element matches the locator. Returns immediately when the
+     * element is already absent, which is the common case.
+     */
+    protected boolean waitForAbsence(By locator, Duration timeout) {
+        try {
+            return waitPolicy.newWait(driver, timeout).until(ExpectedConditions.invisibilityOfElementLocated(locator));
+        } catch (TimeoutException e) {
+            return false;
+        }
+    }
+
+    protected void assertAbsent(By locator) {
+        if (!waitForAbsence(locator, waitPolicy.getTimeout())) {
+            throw new AssertionError("Element is still visible after " + waitPolicy.getTimeout().toMillis()
+                    + " ms: " + locator);
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,67 @@
+package com.functional.pages;
+
+import org.openqa.selenium.By;
+import org.openqa.selenium.WebElement;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Per-page cache of resolved elements, keyed by locator. A page object belongs to one session
+ * and one test thread, so the map itself is not synchronised; only the suite-wide counters are.
+ * Entries are dropped on navigation, after every click (it may submit a form or load another
+ * page) and whenever a cached handle turns out to be stale. A hit is re-checked for visibility
+ * before use, see BasePage.withElement.
+ */
+public final class ElementCache {
+    private static final AtomicLong totalHits = new AtomicLong();
+    private static final AtomicLong totalMisses = new AtomicLong();
+
+    private final Map<By, WebElement> elements = new HashMap<>();
+    private long hits;
+    private long misses;
+
+    WebElement get(By locator) {
+        WebElement element = elements.get(locator);
+        if (element != null) {
+            hits++;
+            totalHits.incrementAndGet();
+        } else {
+            misses++;
+            totalMisses.incrementAndGet();
+        }
+        return element;
+    }
+
+    void put(By locator, WebElement element) {
+        elements.put(locator, element);
+    }
+
+    void evict(By locator) {
+        elements.remove(locator);
+    }
+
+    void invalidate() {
+        elements.clear();
+    }
+
+    public long getHits() {
+        return hits;
+    }
+
+    public long getMisses() {
+        return misses;
+    }
+
+    /**
+     * Hits across every page in this JVM; each one is a findElement wait avoided.
+     */
+    public static long getTotalHits() {
+        return totalHits.get();
+    }
+
+    public static long getTotalMisses() {
+        return totalMisses.get();
+    }
+}
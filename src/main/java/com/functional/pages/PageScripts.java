@@ -0,0 +1,326 @@
+package com.functional.pages;
+
+import org.openqa.selenium.By;
+
+/**
+ * JavaScript snippets executed in the browser by {@link BasePage}. Kept in one place so the
+ * page objects stay readable and every script shares the same locator resolution.
+ */
+final class PageScripts {
+
+    /**
+     * Defines {@code find(using, value)} for the W3C locator strategies that {@link By}
+     * serialises to (css selector, xpath, link text, partial link text, tag name).
+     */
+    static final String FIND_FUNCTION =
+            "function find(using, value) {"
+            + "  if (using === 'css selector') { return document.querySelector(value); }"
+            + "  if (using === 'xpath') {"
+            + "    return document.evaluate(value, document, null, XPathResult.FIRST_ORDERED_NODE_TYPE, null)"
+            + "        .singleNodeValue;"
+            + "  }"
+            + "  if (using === 'tag name') { return document.getElementsByTagName(value)[0] || null; }"
+            + "  var links = document.getElementsByTagName('a');"
+            + "  for (var i = 0; i < links.length; i++) {"
+            + "    var text = (links[i].innerText || '').trim();"
+            + "    if (using === 'link text' ? text === value : text.indexOf(value) !== -1) { return links[i]; }"
+            + "  }"
+            + "  return null;"
+            + "}";
+
+    /**
+     * Defines {@code findAll(using, value)}, the every-match counterpart of {@code find}.
+     */
+    static final String FIND_ALL_FUNCTION =
+            "function findAll(using, value) {"
+            + "  if (using === 'css selector') { return Array.prototype.slice.call(document.querySelectorAll(value)); }"
+            + "  if (using === 'xpath') {"
+            + "    var snapshot = document.evaluate(value, document, null, XPathResult.ORDERED_NODE_SNAPSHOT_TYPE, null);"
+            + "    var nodes = [];"
+            + "    for (var i = 0; i < snapshot.snapshotLength; i++) { nodes.push(snapshot.snapshotItem(i)); }"
+            + "    return nodes;"
+            + "  }"
+            + "  if (using === 'tag name') { return Array.prototype.slice.call(document.getElementsByTagName(value)); }"
+            + "  return Array.prototype.filter.call(document.getElementsByTagName('a'), function(link) {"
+            + "    var text = (link.innerText || '').trim();"
+            + "    return using === 'link text' ? text === value : text.indexOf(value) !== -1;"
+            + "  });"
+            + "}";
+
+    /**
+     * Returns how many nodes match the locator. Arguments: using, value.
+     */
+    static final String COUNT_ELEMENTS =
+            FIND_ALL_FUNCTION
+            + "return findAll(arguments[0], arguments[1]).length;";
+
+    /**
+     * Returns asin, title, price, rating and sponsored for every search result matching the
+     * locator, in page order. Text fields are trimmed and null where the result has none; the
+     * price skips struck-through list prices. Arguments: using, value.
+     */
+    static final String EXTRACT_SEARCH_RESULTS =
+            FIND_ALL_FUNCTION
+            + "function text(root, selector) {"
+            + "  var el = root.querySelector(selector);"
+            + "  var value = el ? el.textContent.replace(/\\s+/g, ' ').trim() : '';"
+            + "  return value || null;"
+            + "}"
+            + "return findAll(arguments[0], arguments[1]).map(function(item) {"
+            + "  return {"
+            + "    asin: item.getAttribute('data-asin') || null,"
+            + "    title: text(item, 'h2'),"
+            + "    price: text(item, '.a-price:not([data-a-strike]) .a-offscreen')"
+            + "        || text(item, '.a-price:not([data-a-strike]) .a-price-whole'),"
+            + "    rating: text(item, '.a-icon-alt'),"
+            + "    sponsored: item.classList.contains('AdHolder')"
+            + "        || !!item.querySelector('.puis-sponsored-label-text, .s-sponsored-label-text')"
+            + "  };"
+            + "});";
+
+    static final String IS_VISIBLE_FUNCTION =
+            "function isVisible(el) {"
+            + "  if (!el || !el.isConnected || el.getClientRects().length === 0) { return false; }"
+            + "  var style = window.getComputedStyle(el);"
+            + "  return style.visibility !== 'hidden' && style.display !== 'none' && style.opacity !== '0';"
+            + "}";
+
+    /**
+     * Resolves with the first node matching the locator (and visible, if requested) as soon as
+     * a DOM mutation produces it, or with {@code null} once the timeout elapses. Visibility can
+     * also change without a mutation (a stylesheet rule, an animation or transition ending, a
+     * layout change), so a visibility wait re-checks every {@code recheckMillis} as well.
+     * Arguments: using, value, requireVisible, timeoutMillis, recheckMillis, callback.
+     */
+    static final String AWAIT_ELEMENT =
+            FIND_FUNCTION + IS_VISIBLE_FUNCTION
+            + "var using = arguments[0], value = arguments[1], requireVisible = arguments[2];"
+            + "var done = arguments[arguments.length - 1];"
+            + "function match() {"
+            + "  var el = find(using, value);"
+            + "  return el && (!requireVisible || isVisible(el)) ? el : null;"
+            + "}"
+            + "var found = match();"
+            + "if (found) { done(found); return; }"
+            + "var finished = false, recheck = null;"
+            + "function finish(el) {"
+            + "  finished = true; observer.disconnect(); clearTimeout(timer); clearInterval(recheck); done(el);"
+            + "}"
+            + "function check() {"
+            + "  if (finished) { return; }"
+            + "  var el = match();"
+            + "  if (el) { finish(el); }"
+            + "}"
+            + "var observer = new MutationObserver(check);"
+            + "var timer = setTimeout(function() { if (!finished) { finish(match()); } }, arguments[3]);"
+            + "if (requireVisible) { recheck = setInterval(check, arguments[4]); }"
+            + "observer.observe(document.documentElement || document,"
+            + "    { childList: true, subtree: true, attributes: requireVisible,"
+            + "      attributeFilter: requireVisible ? ['class', 'style', 'hidden'] : undefined });";
+
+    /**
+     * Scrolls the element to the centre of the viewport, then resolves {@code 'ready'} once its
+     * bounding rect has been identical for consecutive animation frames and a hit test at its
+     * centre lands on it. Resolves with the failure reason if that does not happen in time.
+     * Arguments: element, stableFrames, timeoutMillis, callback.
+     */
+    static final String SCROLL_AND_AWAIT_STABLE =
+            "var el = arguments[0], stableFrames = arguments[1], timeout = arguments[2];"
+            + "var done = arguments[arguments.length - 1];"
+            + "var finished = false, last = null, stable = 0, reason = 'still moving';"
+            + "function finish(result) { if (!finished) { finished = true; done(result); } }"
+            + "function sameRect(a, b) {"
+            + "  return a.top === b.top && a.left === b.left && a.width === b.width && a.height === b.height;"
+            + "}"
+            + "function frame() {"
+            + "  if (finished) { return; }"
+            + "  if (!el.isConnected) { finish('detached from the document'); return; }"
+            + "  var rect = el.getBoundingClientRect();"
+            + "  stable = last && sameRect(rect, last) ? stable + 1 : 0;"
+            + "  last = rect;"
+            + "  if (stable >= stableFrames) {"
+            + "    var hit = document.elementFromPoint(rect.left + rect.width / 2, rect.top + rect.height / 2);"
+            + "    if (hit && (hit === el || el.contains(hit) || hit.contains(el))) { finish('ready'); return; }"
+            + "    reason = 'covered by ' + (hit ? hit.tagName.toLowerCase()"
+            + "        + (hit.id ? '#' + hit.id : '') + (hit.className ? '.' + String(hit.className).split(' ')[0] : '')"
+            + "        : 'nothing (outside the viewport)');"
+            + "  }"
+            + "  requestAnimationFrame(frame);"
+            + "}"
+            + "setTimeout(function() { finish(reason); }, timeout);"
+            + "el.scrollIntoView({ block: 'center', inline: 'center' });"
+            + "requestAnimationFrame(frame);";
+
+    static final String RANGE_BOUNDS_FUNCTION =
+            "function bounds(el) {"
+            + "  function num(v, d) { var n = parseFloat(v); return isNaN(n) ? d : n; }"
+            + "  return {"
+            + "    min: num(el.min, num(el.getAttribute('aria-valuemin'), 0)),"
+            + "    max: num(el.max, num(el.getAttribute('aria-valuemax'), 100)),"
+            + "    step: el.step === 'any' ? 1 : num(el.step, 1) || 1,"
+            + "    value: num(el.value, num(el.getAttribute('aria-valuenow'), 0)),"
+            + "    valueText: el.getAttribute('aria-valuetext') || String(el.value)"
+            + "  };"
+            + "}";
+
+    /**
+     * Returns min, max, step, value and valueText of a range input and focuses it so that
+     * subsequent key presses land on it. Arguments: element.
+     */
+    static final String READ_RANGE =
+            RANGE_BOUNDS_FUNCTION
+            + "var el = arguments[0];"
+            + "el.focus();"
+            + "return bounds(el);";
+
+    /**
+     * Finds how many arrow-key steps move a range input to the position whose displayed text
+     * (aria-valuetext) matches the target, for sliders whose value is an index rather than the
+     * displayed amount. Binary-searches the positions by the amount in the displayed text,
+     * which must grow with the position, so a slider of n positions takes about log2(n)
+     * probes. Each probe fires one {@code input} event (never {@code change}) and waits a frame
+     * for the page to update the text. The original value is restored before resolving with
+     * {@code {presses: n}} or {@code {error: reason}}.
+     * Arguments: element, expectedText, maxProbes, callback.
+     */
+    static final String FIND_RANGE_OFFSET =
+            RANGE_BOUNDS_FUNCTION
+            + "var el = arguments[0], target = arguments[1], maxProbes = arguments[2];"
+            + "var done = arguments[arguments.length - 1];"
+            + "var b = bounds(el);"
+            + "var setter = Object.getOwnPropertyDescriptor(HTMLInputElement.prototype, 'value').set;"
+            + "function text() { return el.getAttribute('aria-valuetext') || String(el.value); }"
+            + "function amount(t) { var n = parseFloat(String(t).replace(/[^0-9.]/g, '')); return isNaN(n) ? null : n; }"
+            + "function set(v) { setter.call(el, String(v)); el.dispatchEvent(new Event('input', { bubbles: true })); }"
+            + "if (text() === target) { done({ presses: 0 }); return; }"
+            + "var wanted = amount(target);"
+            + "if (wanted === null) { done({ error: 'the target text has no amount to search for' }); return; }"
+            + "var origin = Math.round((b.value - b.min) / b.step);"
+            + "var low = 0, high = Math.round((b.max - b.min) / b.step), probes = 0, seen = [];"
+            + "function finish(result) { set(b.value); done(result); }"
+            + "function probe() {"
+            + "  if (low > high || probes >= maxProbes) {"
+            + "    finish({ error: 'no position displays it after ' + probes + ' probes (saw '"
+            + "        + seen.slice(0, 3).join(', ') + (seen.length > 3 ? ', ...' : '') + ')' });"
+            + "    return;"
+            + "  }"
+            + "  var position = Math.floor((low + high) / 2);"
+            + "  probes++;"
+            + "  set(b.min + position * b.step);"
+            + "  requestAnimationFrame(function() {"
+            + "    var shown = text();"
+            + "    if (shown === target) { finish({ presses: position - origin }); return; }"
+            + "    if (seen.length < 4) { seen.push(shown); }"
+            + "    var found = amount(shown);"
+            + "    if (found === null) { finish({ error: 'position ' + position + ' displays no amount: ' + shown }); return; }"
+            + "    if (found < wanted) { low = position + 1; } else { high = position - 1; }"
+            + "    probe();"
+            + "  });"
+            + "}"
+            + "probe();";
+
+    static final String SET_VALUE_FUNCTION =
+            "function setValue(el, text) {"
+            + "  var proto = el instanceof HTMLTextAreaElement ? HTMLTextAreaElement.prototype"
+            + "      : el instanceof HTMLSelectElement ? HTMLSelectElement.prototype : HTMLInputElement.prototype;"
+            + "  Object.getOwnPropertyDescriptor(proto, 'value').set.call(el, text);"
+            + "  el.dispatchEvent(new Event('input', { bubbles: true }));"
+            + "}";
+
+    /**
+     * Sets every field through the native value setter (so framework-managed inputs see the
+     * change) and fires input, change and blur. Returns the locators that matched nothing.
+     * Arguments: array of [using, value, text].
+     */
+    static final String FILL_FORM =
+            FIND_FUNCTION + SET_VALUE_FUNCTION
+            + "var fields = arguments[0], missing = [];"
+            + "for (var i = 0; i < fields.length; i++) {"
+            + "  var el = find(fields[i][0], fields[i][1]);"
+            + "  if (!el) { missing.push(fields[i][0] + ': ' + fields[i][1]); continue; }"
+            + "  el.focus();"
+            + "  setValue(el, fields[i][2]);"
+            + "  el.dispatchEvent(new Event('change', { bubbles: true }));"
+            + "  el.blur();"
+            + "}"
+            + "return missing;";
+
+    /**
+     * Resolves and clears every field, returning the elements in order ({@code null} for
+     * locators that matched nothing). Arguments: array of [using, value].
+     */
+    static final String RESOLVE_AND_CLEAR_FIELDS =
+            FIND_FUNCTION + SET_VALUE_FUNCTION
+            + "var fields = arguments[0], elements = [];"
+            + "for (var i = 0; i < fields.length; i++) {"
+            + "  var el = find(fields[i][0], fields[i][1]);"
+            + "  if (el) { setValue(el, ''); }"
+            + "  elements.push(el);"
+            + "}"
+            + "return elements;";
+
+    /**
+     * Resolves with the Navigation Timing entry of the current document (waiting for the load
+     * event if it has not ended yet), a resource timing summary, the latest Largest Contentful
+     * Paint and the Cumulative Layout Shift so far. Times are milliseconds from navigation start;
+     * lcp is -1 where the browser does not report it. Arguments: slowestResources, callback.
+     */
+    static final String COLLECT_PAGE_LOAD =
+            "var slowest = arguments[0], done = arguments[arguments.length - 1];"
+            + "function buffered(type) {"
+            + "  var entries = [];"
+            + "  try {"
+            + "    var observer = new PerformanceObserver(function() {});"
+            + "    observer.observe({type: type, buffered: true});"
+            + "    entries = observer.takeRecords();"
+            + "    observer.disconnect();"
+            + "  } catch (e) {}"
+            + "  return entries;"
+            + "}"
+            + "function collect() {"
+            + "  var nav = performance.getEntriesByType('navigation')[0];"
+            + "  var lcp = buffered('largest-contentful-paint');"
+            + "  var cls = 0;"
+            + "  buffered('layout-shift').forEach(function(s) { if (!s.hadRecentInput) { cls += s.value; } });"
+            + "  var resources = performance.getEntriesByType('resource');"
+            + "  var bytes = 0;"
+            + "  resources.forEach(function(r) { bytes += r.transferSize || 0; });"
+            + "  var top = resources.slice().sort(function(a, b) { return b.duration - a.duration; })"
+            + "      .slice(0, slowest).map(function(r) {"
+            + "        return {name: r.name, type: r.initiatorType, ms: Math.round(r.duration)};"
+            + "      });"
+            + "  done({"
+            + "    url: location.href,"
+            + "    ttfb: nav ? nav.responseStart : -1,"
+            + "    domContentLoaded: nav ? nav.domContentLoadedEventEnd : -1,"
+            + "    load: nav ? nav.loadEventEnd : -1,"
+            + "    lcp: lcp.length ? lcp[lcp.length - 1].startTime : -1,"
+            + "    cls: cls,"
+            + "    resourceCount: resources.length,"
+            + "    transferBytes: bytes,"
+            + "    slowestResources: top"
+            + "  });"
+            + "}"
+            + "var entry = performance.getEntriesByType('navigation')[0];"
+            + "if (!entry || entry.loadEventEnd > 0) {"
+            + "  collect();"
+            + "} else if (document.readyState === 'complete') {"
+            + "  setTimeout(collect, 0);"
+            + "} else {"
+            + "  window.addEventListener('load', function() { setTimeout(collect, 0); }, {once: true});"
+            + "}";
+
+    private PageScripts() {
+    }
+
+    /**
+     * Returns the W3C {@code using}/{@code value} pair a locator is sent as over the wire.
+     */
+    static String[] remoteLocator(By locator) {
+        if (!(locator instanceof By.Remotable)) {
+            throw new IllegalArgumentException("Locator cannot be evaluated in the browser: " + locator);
+        }
+        By.Remotable.Parameters parameters = ((By.Remotable) locator).getRemoteParameters();
+        return new String[] {parameters.using(), String.valueOf(parameters.value())};
+    }
+}
@@ -0,0 +1,53 @@
+package com.functional.pages;
+
+import java.math.BigDecimal;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * One result of a search results page, as read by {@link AmazonHomePage#getSearchResults()}.
+ * Price and rating are null for results that show none (out of stock, unrated).
+ */
+public record SearchResult(String asin, String title, BigDecimal price, Double rating, boolean sponsored) {
+    private static final Pattern NUMBER = Pattern.compile("\\d+(?:[.,]\\d+)?");
+
+    static SearchResult fromScript(Map<?, ?> item) {
+        return new SearchResult(
+                (String) item.get("asin"),
+                (String) item.get("title"),
+                parsePrice((String) item.get("price")),
+                parseRating((String) item.get("rating")),
+                Boolean.TRUE.equals(item.get("sponsored")));
+    }
+
+    /**
+     * Reads a displayed price such as "₹1,295" or "₹12,999.00", ignoring the currency symbol
+     * and digit grouping.
+     */
+    static BigDecimal parsePrice(String text) {
+        if (text == null) {
+            return null;
+        }
+        String digits = text.replaceAll("[^0-9.]", "");
+        if (digits.endsWith(".")) {
+            digits = digits.substring(0, digits.length() - 1);
+        }
+        try {
+            return digits.isEmpty() ? null : new BigDecimal(digits);
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Reads the star rating from text such as "4.3 out of 5 stars".
+     */
+    static Double parseRating(String text) {
+        if (text == null) {
+            return null;
+        }
+        Matcher matcher = NUMBER.matcher(text);
+        return matcher.find() ? Double.valueOf(matcher.group().replace(',', '.')) : null;
+    }
+}
@@ -0,0 +1,52 @@
+package com.functional.pages;
+
+import com.functional.config.ConfigManager;
+import org.openqa.selenium.NoSuchElementException;
+import org.openqa.selenium.StaleElementReferenceException;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.support.ui.WebDriverWait;
+
+import java.time.Duration;
+
+/**
+ * Single source of wait timing for the page layer. Sessions run with a zero implicit wait, so
+ * every wait is explicit and negative checks return immediately instead of blocking for the
+ * implicit timeout.
+ */
+public final class WaitPolicy {
+    private static final WaitPolicy DEFAULT = fromConfig(ConfigManager.getInstance());
+
+    private final Duration timeout;
+    private final Duration pollingInterval;
+
+    public WaitPolicy(Duration timeout, Duration pollingInterval) {
+        this.timeout = timeout;
+        this.pollingInterval = pollingInterval;
+    }
+
+    public static WaitPolicy defaults() {
+        return DEFAULT;
+    }
+
+    public static WaitPolicy fromConfig(ConfigManager config) {
+        return new WaitPolicy(Duration.ofSeconds(config.getTimeout()), Duration.ofMillis(config.getWaitPollingMillis()));
+    }
+
+    public Duration getTimeout() {
+        return timeout;
+    }
+
+    public Duration getPollingInterval() {
+        return pollingInterval;
+    }
+
+    public WebDriverWait newWait(WebDriver driver) {
+        return newWait(driver, timeout);
+    }
+
+    public WebDriverWait newWait(WebDriver driver, Duration timeout) {
+        WebDriverWait wait = new WebDriverWait(driver, timeout, pollingInterval);
+        wait.ignoring(NoSuchElementException.class, StaleElementReferenceException.class);
+        return wait;
+    }
+}
@@ -0,0 +1,63 @@
+package com.functional.retry;
+
+import org.openqa.selenium.ElementClickInterceptedException;
+import org.openqa.selenium.NoSuchSessionException;
+import org.openqa.selenium.ScriptTimeoutException;
+import org.openqa.selenium.StaleElementReferenceException;
+import org.openqa.selenium.TimeoutException;
+import org.openqa.selenium.remote.UnreachableBrowserException;
+
+/**
+ * Decides whether a failure is worth retrying. The exception and its causes are inspected,
+ * since page objects wrap driver exceptions in their own. Explicit waits that ran out
+ * (WebDriverWait's "Expected condition failed") already used their whole timeout, so only
+ * driver-side timeouts count as transient.
+ */
+public final class FailureClassifier {
+    private static final String WAIT_TIMEOUT = "Expected condition failed";
+
+    public enum Kind {
+        /** The action can be repeated in the same session. */
+        TRANSIENT,
+        /** The browser session is gone; only a rerun with a new session can help. */
+        SESSION_LOST,
+        /** Assertion failures and everything else not known to be flaky. */
+        PERMANENT
+    }
+
+    private FailureClassifier() {
+    }
+
+    public static Kind classify(Throwable failure) {
+        Kind kind = Kind.PERMANENT;
+        for (Throwable cause = failure; cause != null; cause = cause.getCause() == cause ? null : cause.getCause()) {
+            if (cause instanceof AssertionError) {
+                return Kind.PERMANENT;
+            }
+            if (kind == Kind.PERMANENT) {
+                kind = classifyOne(cause);
+            }
+        }
+        return kind;
+    }
+
+    public static boolean isTransient(Throwable failure) {
+        return classify(failure) == Kind.TRANSIENT;
+    }
+
+    private static Kind classifyOne(Throwable cause) {
+        if (cause instanceof NoSuchSessionException || cause instanceof UnreachableBrowserException) {
+            return Kind.SESSION_LOST;
+        }
+        if (cause instanceof StaleElementReferenceException
+                || cause instanceof ElementClickInterceptedException
+                || cause instanceof ScriptTimeoutException) {
+            return Kind.TRANSIENT;
+        }
+        if (cause instanceof TimeoutException) {
+            String message = cause.getMessage();
+            return message != null && message.startsWith(WAIT_TIMEOUT) ? Kind.PERMANENT : Kind.TRANSIENT;
+        }
+        return Kind.PERMANENT;
+    }
+}
@@ -0,0 +1,34 @@
+package com.functional.retry;
+
+import com.functional.config.ConfigManager;
+import com.functional.metrics.RetryMetrics;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.testng.IRetryAnalyzer;
+import org.testng.ITestResult;
+
+/**
+ * Reruns a test whose failure survived the in-place step retries but is still transient, or
+ * whose browser session died, up to {@code retry.test.max} times. Assertion failures and
+ * unknown exceptions fail straight away. Attached to every test by RetryTransformer.
+ */
+public class RetryAnalyzer implements IRetryAnalyzer {
+    private static final Logger logger = LoggerFactory.getLogger(RetryAnalyzer.class);
+    private static final int MAX_RETRIES = ConfigManager.getInstance().getTestRetryLimit();
+
+    private int retries;
+
+    @Override
+    public boolean retry(ITestResult result) {
+        Throwable failure = result.getThrowable();
+        FailureClassifier.Kind kind = FailureClassifier.classify(failure);
+        if (kind == FailureClassifier.Kind.PERMANENT || retries >= MAX_RETRIES) {
+            return false;
+        }
+        retries++;
+        String test = result.getTestClass().getRealClass().getSimpleName() + "." + result.getMethod().getMethodName();
+        logger.warn("Retrying {} ({}/{}) after {} failure: {}", test, retries, MAX_RETRIES, kind, failure.toString());
+        RetryMetrics.recordTestRetry(test, failure);
+        return true;
+    }
+}
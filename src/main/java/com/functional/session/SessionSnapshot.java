@@ -0,0 +1,46 @@
+package com.functional.session;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Browser state of a signed-in user: every cookie (as DevTools cookie parameters, so
+ * HttpOnly and cross-domain cookies survive) and the local and session storage of the origin
+ * the snapshot was taken on.
+ */
+public record SessionSnapshot(String origin,
+                              List<Map<String, Object>> cookies,
+                              Map<String, String> localStorage,
+                              Map<String, String> sessionStorage,
+                              long createdAtMillis) {
+
+    public boolean isExpired(Duration ttl) {
+        return Instant.ofEpochMilli(createdAtMillis).plus(ttl).isBefore(Instant.now());
+    }
+
+    /**
+     * Serialised form, picked up by Selenium's {@code Json}.
+     */
+    public Map<String, Object> toJson() {
+        Map<String, Object> json = new LinkedHashMap<>();
+        json.put("origin", origin);
+        json.put("cookies", cookies);
+        json.put("localStorage", localStorage);
+        json.put("sessionStorage", sessionStorage);
+        json.put("createdAtMillis", createdAtMillis);
+        return json;
+    }
+
+    @SuppressWarnings("unchecked")
+    public static SessionSnapshot fromJson(Map<String, Object> json) {
+        return new SessionSnapshot(
+                (String) json.get("origin"),
+                (List<Map<String, Object>>) json.getOrDefault("cookies", List.of()),
+                (Map<String, String>) json.getOrDefault("localStorage", Map.of()),
+                (Map<String, String>) json.getOrDefault("sessionStorage", Map.of()),
+                ((Number) json.get("createdAtMillis")).longValue());
+    }
+}
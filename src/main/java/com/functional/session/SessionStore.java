@@ -0,0 +1,211 @@
+package com.functional.session;
+
+import com.functional.config.ConfigManager;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.chromium.HasCdp;
+import org.openqa.selenium.json.Json;
+import org.openqa.selenium.json.JsonException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+
+/**
+ * Signs a user in through the UI once and lets every later session start signed in. After a
+ * UI login the session's cookies and storage are saved to disk per credential; a new session
+ * gets the cookies through {@code Network.setCookies} and the storage through a script that
+ * runs before the page's own, then loads the site once. If the snapshot is older than
+ * {@code session.ttl.minutes} or the site no longer accepts it, it is discarded and the UI
+ * login runs again. Logins for the same credential are serialised, so parallel tests share
+ * one login instead of racing through the sign-in pages.
+ */
+public final class SessionStore {
+    private static final Logger logger = LoggerFactory.getLogger(SessionStore.class);
+    private static final SessionStore INSTANCE = new SessionStore(ConfigManager.getInstance());
+    private static final List<String> COOKIE_PARAMS = List.of(
+            "name", "value", "domain", "path", "secure", "httpOnly", "sameSite", "priority");
+
+    private static final String READ_STORAGE_SCRIPT =
+            "function dump(storage) {"
+            + "  var values = {};"
+            + "  try { for (var i = 0; i < storage.length; i++) { values[storage.key(i)] = storage.getItem(storage.key(i)); } }"
+            + "  catch (e) {}"
+            + "  return values;"
+            + "}"
+            + "return {origin: location.origin, local: dump(window.localStorage), session: dump(window.sessionStorage)};";
+
+    private final Path directory;
+    private final Duration ttl;
+    private final boolean enabled;
+    private final Map<String, Object> locks = new ConcurrentHashMap<>();
+
+    private SessionStore(ConfigManager config) {
+        this.directory = Paths.get(config.getSessionStoreDirectory());
+        this.ttl = Duration.ofMinutes(config.getSessionTtlMinutes());
+        this.enabled = config.isSessionReuseEnabled();
+    }
+
+    public static SessionStore getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Leaves the driver signed in as {@code user} on {@code baseUrl}: restores a saved snapshot
+     * when there is a usable one, otherwise runs {@code uiLogin} and saves the result.
+     *
+     * @param isSignedIn checks the loaded page for a signed-in user
+     */
+    public void signIn(WebDriver driver, String baseUrl, String user,
+                       Consumer<WebDriver> uiLogin, Predicate<WebDriver> isSignedIn) {
+        if (!enabled || !(driver instanceof HasCdp)) {
+            driver.get(baseUrl);
+            uiLogin.accept(driver);
+            return;
+        }
+        String key = key(user);
+        synchronized (locks.computeIfAbsent(key, name -> new Object())) {
+            SessionSnapshot snapshot = load(key);
+            if (snapshot != null) {
+                restore(driver, snapshot, baseUrl);
+                if (isSignedIn.test(driver)) {
+                    logger.info("Restored saved session instead of signing in through the UI");
+                    return;
+                }
+                logger.info("Saved session was rejected by the site, signing in again");
+                delete(key);
+                ((HasCdp) driver).executeCdpCommand("Network.clearBrowserCookies", Map.of());
+                driver.get(baseUrl);
+            } else {
+                driver.get(baseUrl);
+            }
+            uiLogin.accept(driver);
+            save(key, capture(driver));
+        }
+    }
+
+    /**
+     * Forgets the saved session for the user, e.g. after a test signs out or changes the account.
+     */
+    public void invalidate(String user) {
+        delete(key(user));
+    }
+
+    /**
+     * Reads every cookie of the session and the storage of the current page's origin.
+     */
+    @SuppressWarnings("unchecked")
+    public SessionSnapshot capture(WebDriver driver) {
+        Map<String, Object> result = ((HasCdp) driver).executeCdpCommand("Network.getAllCookies", Map.of());
+        List<Map<String, Object>> cookies = new ArrayList<>();
+        for (Map<String, Object> cookie : (List<Map<String, Object>>) result.get("cookies")) {
+            Map<String, Object> param = new LinkedHashMap<>();
+            COOKIE_PARAMS.stream().filter(cookie::containsKey).forEach(name -> param.put(name, cookie.get(name)));
+            if (!Boolean.TRUE.equals(cookie.get("session")) && cookie.get("expires") instanceof Number) {
+                param.put("expires", cookie.get("expires"));
+            }
+            cookies.add(param);
+        }
+        Map<String, Object> storage = (Map<String, Object>) ((JavascriptExecutor) driver).executeScript(READ_STORAGE_SCRIPT);
+        return new SessionSnapshot(String.valueOf(storage.get("origin")), cookies,
+                (Map<String, String>) storage.get("local"), (Map<String, String>) storage.get("session"),
+                System.currentTimeMillis());
+    }
+
+    /**
+     * Injects the snapshot before anything loads, then opens the site once so the page's own
+     * scripts see the restored state. The storage script is removed again so a pooled session
+     * does not carry it into the next test.
+     */
+    public void restore(WebDriver driver, SessionSnapshot snapshot, String baseUrl) {
+        HasCdp cdp = (HasCdp) driver;
+        cdp.executeCdpCommand("Network.setCookies", Map.of("cookies", snapshot.cookies()));
+        String script = "if (location.origin === " + new Json().toJson(snapshot.origin()) + ") {"
+                + "  var local = " + new Json().toJson(snapshot.localStorage()) + ";"
+                + "  var session = " + new Json().toJson(snapshot.sessionStorage()) + ";"
+                + "  try {"
+                + "    Object.keys(local).forEach(function(k) { localStorage.setItem(k, local[k]); });"
+                + "    Object.keys(session).forEach(function(k) { sessionStorage.setItem(k, session[k]); });"
+                + "  } catch (e) {}"
+                + "}";
+        Map<String, Object> added = cdp.executeCdpCommand("Page.addScriptToEvaluateOnNewDocument",
+                Map.of("source", script));
+        try {
+            driver.get(baseUrl);
+        } finally {
+            cdp.executeCdpCommand("Page.removeScriptToEvaluateOnNewDocument",
+                    Map.of("identifier", added.get("identifier")));
+        }
+    }
+
+    private SessionSnapshot load(String key) {
+        Path file = directory.resolve(key + ".json");
+        if (!Files.isRegularFile(file)) {
+            return null;
+        }
+        try {
+            SessionSnapshot snapshot = SessionSnapshot.fromJson(new Json().toType(Files.readString(file), Json.MAP_TYPE));
+            if (snapshot.isExpired(ttl)) {
+                logger.debug("Saved session {} is older than {}, discarding it", key, ttl);
+                delete(key);
+                return null;
+            }
+            return snapshot;
+        } catch (IOException | JsonException | ClassCastException | NullPointerException e) {
+            logger.warn("Ignoring unreadable saved session {}", file, e);
+            delete(key);
+            return null;
+        }
+    }
+
+    private void save(String key, SessionSnapshot snapshot) {
+        Path file = directory.resolve(key + ".json");
+        try {
+            Files.createDirectories(directory);
+            Files.writeString(file, new Json().toJson(snapshot.toJson()));
+            // Cookies are credentials; keep them readable by the owner only where the file system allows
+            if (file.getFileSystem().supportedFileAttributeViews().contains("posix")) {
+                Files.setPosixFilePermissions(file, PosixFilePermissions.fromString("rw-------"));
+            }
+            logger.debug("Saved session {} with {} cookies", key, snapshot.cookies().size());
+        } catch (IOException e) {
+            logger.warn("Could not save session to {}", file, e);
+        }
+    }
+
+    private void delete(String key) {
+        try {
+            Files.deleteIfExists(directory.resolve(key + ".json"));
+        } catch (IOException e) {
+            logger.warn("Could not delete saved session {}", key, e);
+        }
+    }
+
+    /**
+     * File name for a user: a hash, so account names do not end up on disk.
+     */
+    private static String key(String user) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256")
+                    .digest(user.getBytes(StandardCharsets.UTF_8))).substring(0, 16);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+}
@@ -0,0 +1,230 @@
+package com.functional.sharding;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+/**
+ * Combines the Allure result directories written by separate forks, shards or machines into
+ * one directory the report can be generated from. Attachments are copied once per distinct
+ * content, under a name derived from their hash, and the result and container files are
+ * rewritten to point at the surviving copy. environment.properties files are merged; other
+ * shared files (executor.json, categories.json, history) are taken from the first partition.
+ */
+public final class AllureResultsMerger {
+    private static final Logger logger = LoggerFactory.getLogger(AllureResultsMerger.class);
+    private static final Pattern ATTACHMENT = Pattern.compile(
+            "[0-9a-f]{8}-[0-9a-f]{4}-[0-9a-f]{4}-[0-9a-f]{4}-[0-9a-f]{12}-attachment(\\.[A-Za-z0-9]+)?");
+    private static final Pattern MERGED_FILE = Pattern.compile(".*-(result|container)\\.json|[0-9a-f]{64}-attachment.*");
+    private static final String ENVIRONMENT = "environment.properties";
+
+    private AllureResultsMerger() {
+    }
+
+    /**
+     * Merges the given result directories into {@code output}. A directory without result
+     * files of its own stands for its subdirectories, so the parent of the per-fork
+     * directories can be passed as is. Results left in {@code output} by an earlier merge
+     * are replaced.
+     */
+    public static Summary merge(List<Path> inputs, Path output) throws IOException {
+        Files.createDirectories(output);
+        try (Stream<Path> previous = Files.list(output)) {
+            for (Path file : previous.filter(file -> MERGED_FILE.matcher(file.getFileName().toString()).matches()).toList()) {
+                Files.delete(file);
+            }
+        }
+        Map<String, String> attachmentNames = new HashMap<>();
+        List<Path> resultFiles = new ArrayList<>();
+        Properties environment = new Properties();
+        Summary summary = new Summary();
+
+        for (Path partition : partitions(inputs)) {
+            if (Files.isSameFile(partition, output)) {
+                continue;
+            }
+            summary.partitions++;
+            try (Stream<Path> files = Files.list(partition)) {
+                for (Path file : files.toList()) {
+                    String name = file.getFileName().toString();
+                    if (Files.isDirectory(file)) {
+                        copyTreeIfAbsent(file, output.resolve(name));
+                    } else if (ATTACHMENT.matcher(name).matches()) {
+                        attachmentNames.put(name, copyAttachment(file, output, summary));
+                    } else if (name.endsWith("-result.json") || name.endsWith("-container.json")) {
+                        resultFiles.add(file);
+                    } else if (name.equals(ENVIRONMENT)) {
+                        try (InputStream in = Files.newInputStream(file)) {
+                            environment.load(in);
+                        }
+                    } else if (!Files.exists(output.resolve(name))) {
+                        Files.copy(file, output.resolve(name));
+                    }
+                }
+            }
+        }
+
+        for (Path file : resultFiles) {
+            String json = Files.readString(file, StandardCharsets.UTF_8);
+            Matcher matcher = ATTACHMENT.matcher(json);
+            Files.writeString(output.resolve(file.getFileName()),
+                    matcher.replaceAll(match -> Matcher.quoteReplacement(
+                            attachmentNames.getOrDefault(match.group(), match.group()))),
+                    StandardCharsets.UTF_8);
+            if (file.getFileName().toString().endsWith("-result.json")) {
+                summary.results++;
+            }
+        }
+        if (!environment.isEmpty()) {
+            try (OutputStream out = Files.newOutputStream(output.resolve(ENVIRONMENT))) {
+                environment.store(out, null);
+            }
+        }
+        logger.info("Merged {} Allure partitions into {}: {} results, {} attachments ({} unique, {} KB not copied)",
+                summary.partitions, output, summary.results, summary.attachments,
+                summary.uniqueAttachments, summary.duplicateBytes / 1024);
+        return summary;
+    }
+
+    private static List<Path> partitions(List<Path> inputs) throws IOException {
+        List<Path> partitions = new ArrayList<>();
+        for (Path input : inputs) {
+            if (!Files.isDirectory(input)) {
+                logger.warn("Skipping missing Allure results directory {}", input);
+                continue;
+            }
+            try (Stream<Path> files = Files.list(input)) {
+                List<Path> entries = files.sorted().toList();
+                boolean hasResults = entries.stream().anyMatch(file -> {
+                    String name = file.getFileName().toString();
+                    return name.endsWith("-result.json") || name.endsWith("-container.json");
+                });
+                if (hasResults) {
+                    partitions.add(input);
+                } else {
+                    entries.stream().filter(Files::isDirectory).forEach(partitions::add);
+                }
+            }
+        }
+        return partitions;
+    }
+
+    /**
+     * Streams the attachment into the output directory while hashing it and keeps it under
+     * {@code <sha256>-attachment<ext>} unless that content is already there.
+     */
+    private static String copyAttachment(Path file, Path output, Summary summary) throws IOException {
+        summary.attachments++;
+        Matcher matcher = ATTACHMENT.matcher(file.getFileName().toString());
+        String extension = matcher.matches() && matcher.group(1) != null ? matcher.group(1) : "";
+        Path temporary = Files.createTempFile(output, "merge-", ".tmp");
+        MessageDigest digest = sha256();
+        try (InputStream in = new DigestInputStream(Files.newInputStream(file), digest)) {
+            Files.copy(in, temporary, StandardCopyOption.REPLACE_EXISTING);
+        }
+        String name = HexFormat.of().formatHex(digest.digest()) + "-attachment" + extension;
+        try {
+            Files.move(temporary, output.resolve(name));
+            summary.uniqueAttachments++;
+        } catch (FileAlreadyExistsException e) {
+            summary.duplicateBytes += Files.size(temporary);
+            Files.delete(temporary);
+        }
+        return name;
+    }
+
+    private static void copyTreeIfAbsent(Path source, Path target) throws IOException {
+        if (Files.exists(target)) {
+            return;
+        }
+        try (Stream<Path> files = Files.walk(source)) {
+            files.forEach(file -> {
+                try {
+                    Files.copy(file, target.resolve(source.relativize(file).toString()));
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        }
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    /**
+     * Merges the result directories given after the output directory (separate arguments or
+     * comma separated), e.g. target/allure-results with its per-fork directories, into one
+     * directory for allure:report.
+     */
+    public static void main(String[] args) throws IOException {
+        if (args.length < 2) {
+            System.err.println("Usage: AllureResultsMerger <output-dir> <allure-results-dir>...");
+            System.exit(2);
+        }
+        List<Path> inputs = Arrays.stream(args, 1, args.length)
+                .flatMap(arg -> Arrays.stream(arg.split(",")))
+                .filter(arg -> !arg.isBlank())
+                .map(Paths::get)
+                .toList();
+        Summary summary = merge(inputs, Paths.get(args[0]));
+        System.out.printf("%d partitions, %d results, %d attachments (%d unique, %d KB deduplicated)%n",
+                summary.getPartitions(), summary.getResults(), summary.getAttachments(),
+                summary.getUniqueAttachments(), summary.getDuplicateBytes() / 1024);
+    }
+
+    public static final class Summary {
+        private int partitions;
+        private int results;
+        private int attachments;
+        private int uniqueAttachments;
+        private long duplicateBytes;
+
+        public int getPartitions() {
+            return partitions;
+        }
+
+        public int getResults() {
+            return results;
+        }
+
+        public int getAttachments() {
+            return attachments;
+        }
+
+        public int getUniqueAttachments() {
+            return uniqueAttachments;
+        }
+
+        public long getDuplicateBytes() {
+            return duplicateBytes;
+        }
+    }
+}
@@ -0,0 +1,107 @@
+package com.functional.sharding;
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+
+/**
+ * Splits test methods into shards of roughly equal expected duration using the
+ * longest-processing-time rule: methods are taken longest first and each goes to the shard
+ * with the least work so far. Methods with no history are costed at the mean of the known
+ * ones. The plan depends only on the method list and the history, so every shard computes
+ * the same plan independently.
+ */
+public final class ShardPlanner {
+    static final long DEFAULT_DURATION_MILLIS = 1000;
+
+    private ShardPlanner() {
+    }
+
+    public static List<Shard> plan(Collection<String> methods, Map<String, Long> durations, int shardCount) {
+        if (shardCount < 1) {
+            throw new IllegalArgumentException("Shard count must be at least 1, was " + shardCount);
+        }
+        long fallback = estimateUnknown(methods, durations);
+        List<String> ordered = new ArrayList<>(methods);
+        ordered.sort(Comparator.comparingLong((String method) -> durations.getOrDefault(method, fallback))
+                .reversed()
+                .thenComparing(Comparator.naturalOrder()));
+
+        List<Shard> shards = new ArrayList<>();
+        for (int i = 0; i < shardCount; i++) {
+            shards.add(new Shard(i));
+        }
+        PriorityQueue<Shard> lightest = new PriorityQueue<>(
+                Comparator.comparingLong(Shard::getEstimatedMillis).thenComparingInt(Shard::getIndex));
+        lightest.addAll(shards);
+        for (String method : ordered) {
+            Shard shard = lightest.poll();
+            shard.add(method, durations.getOrDefault(method, fallback));
+            lightest.add(shard);
+        }
+        return shards;
+    }
+
+    private static long estimateUnknown(Collection<String> methods, Map<String, Long> durations) {
+        return methods.stream()
+                .filter(durations::containsKey)
+                .mapToLong(durations::get)
+                .average()
+                .stream()
+                .mapToLong(Math::round)
+                .findFirst()
+                .orElse(DEFAULT_DURATION_MILLIS);
+    }
+
+    /**
+     * Prints the plan for the methods in the given history: {@code <shardCount> <history>...},
+     * where each history is a testng-results.xml file or a directory holding one.
+     */
+    public static void main(String[] args) {
+        if (args.length < 2) {
+            System.err.println("Usage: ShardPlanner <shardCount> <testng-results.xml|dir>...");
+            System.exit(2);
+        }
+        int shardCount = Integer.parseInt(args[0]);
+        List<Path> history = Arrays.stream(args, 1, args.length).map(Paths::get).toList();
+        Map<String, Long> durations = TestDurations.load(history);
+        for (Shard shard : plan(durations.keySet(), durations, shardCount)) {
+            System.out.printf("Shard %d: %d methods, ~%d ms%n",
+                    shard.getIndex(), shard.getMethods().size(), shard.getEstimatedMillis());
+            shard.getMethods().forEach(method -> System.out.println("    " + method));
+        }
+    }
+
+    public static final class Shard {
+        private final int index;
+        private final List<String> methods = new ArrayList<>();
+        private long estimatedMillis;
+
+        Shard(int index) {
+            this.index = index;
+        }
+
+        void add(String method, long millis) {
+            methods.add(method);
+            estimatedMillis += millis;
+        }
+
+        public int getIndex() {
+            return index;
+        }
+
+        public List<String> getMethods() {
+            return List.copyOf(methods);
+        }
+
+        public long getEstimatedMillis() {
+            return estimatedMillis;
+        }
+    }
+}
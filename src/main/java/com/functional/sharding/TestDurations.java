@@ -0,0 +1,88 @@
+package com.functional.sharding;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Historical test-method durations read from TestNG's {@code testng-results.xml}. Keys are
+ * {@code fully.qualified.Class#method}; every invocation of a data-driven method is summed,
+ * configuration methods are ignored, and a method seen in several files gets its mean.
+ */
+public final class TestDurations {
+    private static final Logger logger = LoggerFactory.getLogger(TestDurations.class);
+    public static final String RESULTS_FILE = "testng-results.xml";
+
+    private TestDurations() {
+    }
+
+    public static String key(String className, String methodName) {
+        return className + "#" + methodName;
+    }
+
+    /**
+     * Reads every results file given, or {@value #RESULTS_FILE} inside each directory given.
+     * Paths that do not exist are skipped, so a first run simply has no history.
+     */
+    public static Map<String, Long> load(Collection<Path> paths) {
+        Map<String, long[]> totals = new HashMap<>();
+        for (Path path : paths) {
+            Path file = Files.isDirectory(path) ? path.resolve(RESULTS_FILE) : path;
+            if (!Files.isRegularFile(file)) {
+                logger.debug("No test history at {}", file);
+                continue;
+            }
+            try {
+                parse(file).forEach((method, millis) -> {
+                    long[] total = totals.computeIfAbsent(method, name -> new long[2]);
+                    total[0] += millis;
+                    total[1]++;
+                });
+            } catch (IOException | XMLStreamException e) {
+                logger.warn("Ignoring unreadable test history {}", file, e);
+            }
+        }
+        Map<String, Long> durations = new TreeMap<>();
+        totals.forEach((method, total) -> durations.put(method, total[0] / total[1]));
+        return durations;
+    }
+
+    static Map<String, Long> parse(Path file) throws IOException, XMLStreamException {
+        Map<String, Long> durations = new HashMap<>();
+        XMLInputFactory factory = XMLInputFactory.newFactory();
+        factory.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+        try (InputStream in = Files.newInputStream(file)) {
+            XMLStreamReader reader = factory.createXMLStreamReader(in);
+            String className = null;
+            while (reader.hasNext()) {
+                if (reader.next() != XMLStreamConstants.START_ELEMENT) {
+                    continue;
+                }
+                if (reader.getLocalName().equals("class")) {
+                    className = reader.getAttributeValue(null, "name");
+                } else if (reader.getLocalName().equals("test-method") && className != null
+                        && !"true".equals(reader.getAttributeValue(null, "is-config"))) {
+                    String duration = reader.getAttributeValue(null, "duration-ms");
+                    if (duration != null) {
+                        durations.merge(key(className, reader.getAttributeValue(null, "name")),
+                                Long.parseLong(duration), Long::sum);
+                    }
+                }
+            }
+            reader.close();
+        }
+        return durations;
+    }
+}
@@ -0,0 +1,119 @@
+package com.functional.utils;
+
+import com.functional.config.ConfigManager;
+import io.qameta.allure.Allure;
+import io.qameta.allure.AllureLifecycle;
+import io.qameta.allure.util.PropertiesUtils;
+import org.openqa.selenium.json.Json;
+import org.openqa.selenium.json.JsonException;
+import org.openqa.selenium.json.JsonOutput;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedOutputStream;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+/**
+ * Writes text and JSON attachments for the running Allure test straight into the results
+ * directory as they are produced, instead of building the whole payload in memory first.
+ * Each file stops at {@code allure.attachment.max.kb} and ends with a truncation note.
+ */
+public final class AllureAttachments {
+    private static final Logger logger = LoggerFactory.getLogger(AllureAttachments.class);
+    private static final long MAX_BYTES = ConfigManager.getInstance().getAttachmentMaxBytes();
+    private static final Path RESULTS_DIRECTORY = Paths.get(PropertiesUtils.loadAllureProperties()
+            .getProperty("allure.results.directory", "allure-results"));
+
+    private AllureAttachments() {
+    }
+
+    public static void json(String name, Object value) {
+        attach(name, "application/json", ".json", writer -> {
+            try (JsonOutput json = new Json().newOutput(writer)) {
+                json.write(value);
+            }
+        });
+    }
+
+    public static void text(String name, String extension, CharSequence content) {
+        attach(name, "text/plain", extension, writer -> writer.append(content));
+    }
+
+    private static void attach(String name, String type, String extension, Content content) {
+        AllureLifecycle lifecycle = Allure.getLifecycle();
+        if (lifecycle.getCurrentTestCaseOrStep().isEmpty()) {
+            logger.debug("No Allure test running, dropping attachment {}", name);
+            return;
+        }
+        Path file = RESULTS_DIRECTORY.resolve(lifecycle.prepareAttachment(name, type, extension));
+        try {
+            Files.createDirectories(RESULTS_DIRECTORY);
+            try (Writer writer = new OutputStreamWriter(
+                    new CappedOutputStream(new BufferedOutputStream(Files.newOutputStream(file)), MAX_BYTES),
+                    StandardCharsets.UTF_8)) {
+                content.writeTo(writer);
+            }
+        } catch (IOException | JsonException e) {
+            logger.warn("Failed to write attachment {} to {}", name, file, e);
+        }
+    }
+
+    @FunctionalInterface
+    private interface Content {
+        void writeTo(Writer writer) throws IOException;
+    }
+
+    /**
+     * Passes bytes through up to the limit, drops the rest and notes the truncation on close.
+     */
+    static final class CappedOutputStream extends FilterOutputStream {
+        private final long limit;
+        private long written;
+        private boolean truncated;
+        private boolean closed;
+
+        CappedOutputStream(OutputStream out, long limit) {
+            super(out);
+            this.limit = limit;
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            write(new byte[]{(byte) b}, 0, 1);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            int allowed = (int) Math.max(0, Math.min(len, limit - written));
+            if (allowed > 0) {
+                out.write(b, off, allowed);
+                written += allowed;
+            }
+            truncated |= allowed < len;
+        }
+
+        @Override
+        public void close() throws IOException {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            try {
+                if (truncated) {
+                    out.write((System.lineSeparator() + "... truncated at " + limit / 1024
+                            + " KB (allure.attachment.max.kb)" + System.lineSeparator()).getBytes(StandardCharsets.UTF_8));
+                }
+            } finally {
+                super.close();
+            }
+        }
+    }
+}
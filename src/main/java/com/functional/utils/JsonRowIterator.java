@@ -0,0 +1,100 @@
+package com.functional.utils;
+
+import org.openqa.selenium.json.Json;
+import org.openqa.selenium.json.JsonInput;
+
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+
+/**
+ * Reads the objects of one JSON array a row at a time, without loading the document. The
+ * array is either the top-level value or a named field of the top-level object. The
+ * underlying stream is closed once the last row has been read, or by {@link #close()}.
+ * Not thread-safe.
+ */
+public final class JsonRowIterator implements Iterator<Map<String, Object>>, AutoCloseable {
+    private final JsonInput input;
+    private boolean closed;
+
+    private JsonRowIterator(JsonInput input, String arrayField) {
+        this.input = input;
+        try {
+            if (arrayField != null) {
+                seek(arrayField);
+            }
+            input.beginArray();
+        } catch (RuntimeException e) {
+            close();
+            throw e;
+        }
+    }
+
+    /**
+     * Streams the rows of the given array field (or the top-level array when the field is
+     * null) from a classpath resource.
+     */
+    public static JsonRowIterator fromResource(String resource, String arrayField) {
+        InputStream in = JsonRowIterator.class.getClassLoader().getResourceAsStream(resource);
+        if (in == null) {
+            throw new IllegalArgumentException("Test data not found on the classpath: " + resource);
+        }
+        JsonInput input = new Json().newInput(new InputStreamReader(in, StandardCharsets.UTF_8));
+        return new JsonRowIterator(input, arrayField);
+    }
+
+    private void seek(String arrayField) {
+        input.beginObject();
+        while (input.hasNext()) {
+            if (input.nextName().equals(arrayField)) {
+                return;
+            }
+            input.skipValue();
+        }
+        throw new IllegalArgumentException("No '" + arrayField + "' array in the test data");
+    }
+
+    @Override
+    public boolean hasNext() {
+        if (closed) {
+            return false;
+        }
+        if (input.hasNext()) {
+            return true;
+        }
+        close();
+        return false;
+    }
+
+    @Override
+    public Map<String, Object> next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        return input.read(Json.MAP_TYPE);
+    }
+
+    /**
+     * Skips up to the given number of rows without building them and returns how many were
+     * skipped, fewer only at the end of the array.
+     */
+    public int skip(int rows) {
+        int skipped = 0;
+        while (skipped < rows && hasNext()) {
+            input.skipValue();
+            skipped++;
+        }
+        return skipped;
+    }
+
+    @Override
+    public void close() {
+        if (!closed) {
+            closed = true;
+            input.close();
+        }
+    }
+}
@@ -0,0 +1,208 @@
+package com.functional.utils;
+
+import com.functional.config.ConfigManager;
+import io.qameta.allure.Allure;
+import io.qameta.allure.AllureLifecycle;
+import org.openqa.selenium.OutputType;
+import org.openqa.selenium.TakesScreenshot;
+import org.openqa.selenium.WebDriver;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.imageio.ImageIO;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HashSet;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Takes screenshots on the test thread and moves the disk and Allure writes to a small
+ * bounded executor. Only the capture round trip, a content hash and the Allure attachment
+ * link stay on the test thread. Identical images are written once per directory and
+ * attached once per test. When the queue is full the test thread does the write itself,
+ * which throttles producers instead of buffering without limit. Screenshots larger than
+ * {@code allure.attachment.max.kb} are kept on disk only, with a note attached in their place;
+ * with {@code allure.attachment.compress} the attached copy is re-encoded as JPEG.
+ */
+public final class ScreenshotPipeline {
+    private static final Logger logger = LoggerFactory.getLogger(ScreenshotPipeline.class);
+    private static final ScreenshotPipeline INSTANCE = new ScreenshotPipeline(ConfigManager.getInstance());
+
+    private final Path directory;
+    private final long maxAttachmentBytes;
+    private final boolean compressAttachments;
+    private final ThreadPoolExecutor executor;
+    // Screenshot file per image hash; identical captures under another name share the first file
+    private final Map<String, Path> files = new ConcurrentHashMap<>();
+    private final ThreadLocal<AttachedImages> attachedImages = ThreadLocal.withInitial(AttachedImages::new);
+
+    private ScreenshotPipeline(ConfigManager config) {
+        this.directory = Paths.get(config.getScreenshotPath());
+        this.maxAttachmentBytes = config.getAttachmentMaxBytes();
+        this.compressAttachments = config.isAttachmentCompressionEnabled();
+        int threads = config.getScreenshotWriterThreads();
+        AtomicInteger counter = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(threads, threads, 30, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(config.getScreenshotQueueCapacity()),
+                task -> {
+                    Thread thread = new Thread(task, "screenshot-writer-" + counter.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.CallerRunsPolicy());
+        this.executor.allowCoreThreadTimeOut(true);
+    }
+
+    public static ScreenshotPipeline getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Captures the current page, attaches it to the running Allure test (unless this test
+     * already has the identical image) and queues the file write. Returns the PNG bytes.
+     */
+    public byte[] capture(WebDriver driver, String name) {
+        byte[] png = ((TakesScreenshot) driver).getScreenshotAs(OutputType.BYTES);
+        String hash = sha256(png);
+        Path candidate = fileFor(name, hash);
+        Path existing = files.putIfAbsent(hash, candidate);
+        Path file = existing == null ? candidate : existing;
+
+        AllureLifecycle lifecycle = Allure.getLifecycle();
+        Optional<String> testUuid = lifecycle.getCurrentTestCase();
+        String attachmentSource = null;
+        if (testUuid.isPresent() && attachedImages.get().add(testUuid.get(), hash)) {
+            if (png.length > maxAttachmentBytes) {
+                AllureAttachments.text("Page Screenshot", ".txt", "Screenshot of " + png.length / 1024
+                        + " KB is over allure.attachment.max.kb and was only saved to " + file);
+            } else if (compressAttachments) {
+                attachmentSource = lifecycle.prepareAttachment("Page Screenshot", "image/jpeg", ".jpg");
+            } else {
+                attachmentSource = lifecycle.prepareAttachment("Page Screenshot", "image/png", ".png");
+            }
+        } else if (testUuid.isPresent()) {
+            logger.debug("Skipping duplicate screenshot attachment {}", hash.substring(0, 12));
+        }
+
+        String allureSource = attachmentSource;
+        boolean newFile = existing == null;
+        submit(() -> write(png, hash, newFile ? file : null, lifecycle, allureSource));
+        return png;
+    }
+
+    private void submit(Runnable task) {
+        if (executor.isShutdown()) {
+            task.run();
+            return;
+        }
+        try {
+            executor.execute(task);
+        } catch (RejectedExecutionException e) {
+            task.run();
+        }
+    }
+
+    /**
+     * Writes the attachment, if any, and the screenshot file unless {@code file} is null
+     * because an identical image already has one.
+     */
+    private void write(byte[] png, String hash, Path file, AllureLifecycle lifecycle, String allureSource) {
+        if (allureSource != null) {
+            lifecycle.writeAttachment(allureSource, new ByteArrayInputStream(compressAttachments ? toJpeg(png) : png));
+        }
+        if (file == null) {
+            return;
+        }
+        try {
+            Files.createDirectories(directory);
+            Files.write(file, png);
+            logger.info("Screenshot saved: {}", file);
+        } catch (IOException e) {
+            files.remove(hash, file);
+            logger.error("Failed to save screenshot {}", file, e);
+        }
+    }
+
+    private Path fileFor(String name, String hash) {
+        return directory.resolve(name + "_" + hash.substring(0, 12) + ".png");
+    }
+
+    /**
+     * Re-encodes a screenshot as JPEG at the default quality, usually a fraction of the PNG
+     * size for page captures. Falls back to the PNG if it cannot be decoded.
+     */
+    static byte[] toJpeg(byte[] png) {
+        try {
+            BufferedImage image = ImageIO.read(new ByteArrayInputStream(png));
+            if (image == null) {
+                return png;
+            }
+            // JPEG has no alpha channel
+            BufferedImage rgb = new BufferedImage(image.getWidth(), image.getHeight(), BufferedImage.TYPE_INT_RGB);
+            Graphics2D graphics = rgb.createGraphics();
+            graphics.drawImage(image, 0, 0, Color.WHITE, null);
+            graphics.dispose();
+            ByteArrayOutputStream jpeg = new ByteArrayOutputStream(png.length / 4);
+            return ImageIO.write(rgb, "jpg", jpeg) ? jpeg.toByteArray() : png;
+        } catch (IOException e) {
+            logger.warn("Failed to compress screenshot, attaching it as PNG", e);
+            return png;
+        }
+    }
+
+    /**
+     * Waits for every queued write to finish. Later captures are written synchronously.
+     */
+    public void drain() {
+        executor.shutdown();
+        try {
+            if (!executor.awaitTermination(60, TimeUnit.SECONDS)) {
+                logger.warn("Screenshot writes still pending after 60 seconds");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static String sha256(byte[] data) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(data));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    /**
+     * Hashes of images attached to the test currently running on this thread.
+     */
+    private static final class AttachedImages {
+        private String testUuid;
+        private final Set<String> hashes = new HashSet<>();
+
+        boolean add(String uuid, String hash) {
+            if (!uuid.equals(testUuid)) {
+                testUuid = uuid;
+                hashes.clear();
+            }
+            return hashes.add(hash);
+        }
+    }
+}
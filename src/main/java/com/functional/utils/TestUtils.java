@@ -1,17 +1,9 @@
 package com.functional.utils;
 
-import io.qameta.allure.Attachment;
-import org.openqa.selenium.OutputType;
-import org.openqa.selenium.TakesScreenshot;
 import org.openqa.selenium.WebDriver;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.io.File;
-import java.io.IOException;
-import java.nio.file.Files;
-import java.nio.file.Path;
-import java.nio.file.Paths;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 
@@ -26,24 +18,16 @@ public class TestUtils {
         logger.error(message, throwable);
     }
 
-    @Attachment(value = "Page Screenshot", type = "image/png")
+    /**
+     * Captures the page and attaches it to the current Allure test; disk and attachment
+     * writes happen in the background (see {@link ScreenshotPipeline}).
+     */
     public static byte[] takeScreenshot(WebDriver driver) {
-        return ((TakesScreenshot) driver).getScreenshotAs(OutputType.BYTES);
+        return ScreenshotPipeline.getInstance().capture(driver, "screenshot");
     }
 
     public static void saveScreenshot(WebDriver driver, String testName) {
-        try {
-            String timestamp = LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd_HHmmss"));
-            String fileName = testName + "_" + timestamp + ".png";
-            Path screenshotPath = Paths.get("target/screenshots", fileName);
-            Files.createDirectories(screenshotPath.getParent());
-            
-            File screenshot = ((TakesScreenshot) driver).getScreenshotAs(OutputType.FILE);
-            Files.copy(screenshot.toPath(), screenshotPath);
-            
-            logInfo("Screenshot saved: " + screenshotPath);
-        } catch (IOException e) {
-            logError("Failed to save screenshot", e);
-        }
+        String timestamp = LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd_HHmmss"));
+        ScreenshotPipeline.getInstance().capture(driver, testName + "_" + timestamp);
     }
-} 
\ No newline at end of file
+}
\ No newline at end of file
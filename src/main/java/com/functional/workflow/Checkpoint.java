@@ -0,0 +1,27 @@
+package com.functional.workflow;
+
+import com.functional.session.SessionSnapshot;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Browser state at a named point of a workflow: the page URL plus the cookies and storage
+ * needed to rebuild it in another session.
+ */
+public record Checkpoint(String name, String url, SessionSnapshot state) {
+
+    public Map<String, Object> toJson() {
+        Map<String, Object> json = new LinkedHashMap<>();
+        json.put("name", name);
+        json.put("url", url);
+        json.put("state", state.toJson());
+        return json;
+    }
+
+    @SuppressWarnings("unchecked")
+    public static Checkpoint fromJson(Map<String, Object> json) {
+        return new Checkpoint((String) json.get("name"), (String) json.get("url"),
+                SessionSnapshot.fromJson((Map<String, Object>) json.get("state")));
+    }
+}
@@ -0,0 +1,97 @@
+package com.functional.workflow;
+
+import com.functional.config.ConfigManager;
+import org.openqa.selenium.json.Json;
+import org.openqa.selenium.json.JsonException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.stream.Stream;
+
+/**
+ * Keeps the checkpoints of each workflow on disk, one file per checkpoint, so a later run can
+ * resume from them. Checkpoints hold session cookies, so files are owner-readable only where
+ * the file system allows, and ones older than the TTL are ignored.
+ */
+public final class CheckpointStore {
+    private static final Logger logger = LoggerFactory.getLogger(CheckpointStore.class);
+
+    private final Path directory;
+    private final Duration ttl;
+
+    public CheckpointStore(Path directory, Duration ttl) {
+        this.directory = directory;
+        this.ttl = ttl;
+    }
+
+    public static CheckpointStore fromConfig(ConfigManager config) {
+        return new CheckpointStore(Paths.get(config.getWorkflowCheckpointDirectory()),
+                Duration.ofMinutes(config.getSessionTtlMinutes()));
+    }
+
+    public void save(String workflow, Checkpoint checkpoint) {
+        Path file = fileFor(workflow, checkpoint.name());
+        try {
+            Files.createDirectories(file.getParent());
+            Files.writeString(file, new Json().toJson(checkpoint.toJson()));
+            if (file.getFileSystem().supportedFileAttributeViews().contains("posix")) {
+                Files.setPosixFilePermissions(file, PosixFilePermissions.fromString("rw-------"));
+            }
+        } catch (IOException e) {
+            logger.warn("Could not save checkpoint {} to {}", checkpoint.name(), file, e);
+        }
+    }
+
+    /**
+     * The saved checkpoint, or null when there is none, it has expired or it cannot be read.
+     */
+    public Checkpoint load(String workflow, String name) {
+        Path file = fileFor(workflow, name);
+        if (!Files.isRegularFile(file)) {
+            return null;
+        }
+        try {
+            Checkpoint checkpoint = Checkpoint.fromJson(new Json().toType(Files.readString(file), Json.MAP_TYPE));
+            if (checkpoint.state().isExpired(ttl)) {
+                logger.debug("Checkpoint {} of {} is older than {}, ignoring it", name, workflow, ttl);
+                return null;
+            }
+            return checkpoint;
+        } catch (IOException | JsonException | ClassCastException | NullPointerException e) {
+            logger.warn("Ignoring unreadable checkpoint {}", file, e);
+            return null;
+        }
+    }
+
+    /**
+     * Deletes every saved checkpoint of the workflow.
+     */
+    public void clear(String workflow) {
+        Path folder = directory.resolve(fileName(workflow));
+        if (!Files.isDirectory(folder)) {
+            return;
+        }
+        try (Stream<Path> files = Files.walk(folder)) {
+            for (Path file : files.sorted(Comparator.reverseOrder()).toList()) {
+                Files.delete(file);
+            }
+        } catch (IOException e) {
+            logger.warn("Could not delete checkpoints in {}", folder, e);
+        }
+    }
+
+    private Path fileFor(String workflow, String checkpoint) {
+        return directory.resolve(fileName(workflow)).resolve(fileName(checkpoint) + ".json");
+    }
+
+    private static String fileName(String name) {
+        return name.replaceAll("[^A-Za-z0-9._-]", "_");
+    }
+}
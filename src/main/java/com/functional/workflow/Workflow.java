@@ -0,0 +1,186 @@
+package com.functional.workflow;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * A test flow declared as a tree of steps. Steps run in order until a checkpoint, which
+ * captures the URL, cookies and storage; after a checkpoint the flow either continues or forks
+ * into branches, each of which can run in its own session starting from that state. Every
+ * path from the first step to the end of a branch is one variant. Run it with
+ * {@link WorkflowRunner}.
+ *
+ * <pre>
+ * Workflow.builder("search filters")
+ *         .step("open home page", driver -&gt; new AmazonHomePage(driver).navigateToHomePage())
+ *         .step("search", driver -&gt; new AmazonHomePage(driver).searchProduct("wireless mouse"))
+ *         .checkpoint("search results")
+ *         .fork(Workflow.branch("up to 1,000").step(...),
+ *               Workflow.branch("up to 2,500").step(...))
+ *         .build();
+ * </pre>
+ */
+public final class Workflow {
+    private final String name;
+    private final Segment root;
+
+    private Workflow(String name, Segment root) {
+        this.name = name;
+        this.root = root;
+    }
+
+    public static Builder builder(String name) {
+        return new Builder(name);
+    }
+
+    /**
+     * Starts a branch for {@link Builder#fork(Builder...)}; the name labels its paths.
+     */
+    public static Builder branch(String name) {
+        return new Builder(name);
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    Segment getRoot() {
+        return root;
+    }
+
+    /**
+     * Names of every path through the workflow, e.g. "search filters / up to 1,000".
+     */
+    public List<String> getPaths() {
+        List<String> paths = new ArrayList<>();
+        root.collectPaths(name, paths);
+        return paths;
+    }
+
+    record NamedStep(String name, WorkflowStep step) {
+    }
+
+    /**
+     * Steps run in one go on one session, optionally ending in a checkpoint the children
+     * start from.
+     */
+    static final class Segment {
+        private final String label;
+        private final List<NamedStep> steps = new ArrayList<>();
+        private final List<Segment> children = new ArrayList<>();
+        private String checkpoint;
+
+        Segment(String label) {
+            this.label = label;
+        }
+
+        String getLabel() {
+            return label;
+        }
+
+        List<NamedStep> getSteps() {
+            return steps;
+        }
+
+        List<Segment> getChildren() {
+            return children;
+        }
+
+        String getCheckpoint() {
+            return checkpoint;
+        }
+
+        String pathName(String parent) {
+            return label == null ? parent : parent + " / " + label;
+        }
+
+        void collectPaths(String parent, List<String> paths) {
+            String path = pathName(parent);
+            if (children.isEmpty()) {
+                paths.add(path);
+            }
+            children.forEach(child -> child.collectPaths(path, paths));
+        }
+
+        private void collectCheckpoints(List<String> names) {
+            if (checkpoint != null) {
+                names.add(checkpoint);
+            }
+            children.forEach(child -> child.collectCheckpoints(names));
+        }
+    }
+
+    public static final class Builder {
+        private final String name;
+        private final Segment root;
+        private Segment current;
+        private Segment lastCheckpoint;
+
+        private Builder(String name) {
+            this.name = name;
+            // A top-level workflow's name is the path prefix already; a branch's labels its segment
+            this.root = new Segment(name);
+            this.current = root;
+        }
+
+        public Builder step(String stepName, WorkflowStep step) {
+            if (current == null) {
+                throw new IllegalStateException("Steps after fork() belong in the branches");
+            }
+            current.steps.add(new NamedStep(stepName, step));
+            return this;
+        }
+
+        /**
+         * Captures the session state under {@code checkpointName}; the next steps, or the
+         * branches of a following fork, start from it.
+         */
+        public Builder checkpoint(String checkpointName) {
+            if (current == null) {
+                throw new IllegalStateException("A checkpoint after fork() belongs in the branches");
+            }
+            current.checkpoint = checkpointName;
+            lastCheckpoint = current;
+            Segment next = new Segment(null);
+            current.children.add(next);
+            current = next;
+            return this;
+        }
+
+        /**
+         * Splits the workflow at the checkpoint just declared; each branch is a separate path.
+         */
+        public Builder fork(Builder... branches) {
+            if (current == null || lastCheckpoint == null || !current.steps.isEmpty()) {
+                throw new IllegalStateException("fork() must directly follow checkpoint()");
+            }
+            if (branches.length == 0) {
+                throw new IllegalArgumentException("fork() needs at least one branch");
+            }
+            lastCheckpoint.children.remove(current);
+            for (Builder branch : branches) {
+                lastCheckpoint.children.add(branch.root);
+            }
+            current = null;
+            return this;
+        }
+
+        public Workflow build() {
+            Segment top = new Segment(null);
+            top.steps.addAll(root.steps);
+            top.checkpoint = root.checkpoint;
+            top.children.addAll(root.children);
+            List<String> checkpoints = new ArrayList<>();
+            top.collectCheckpoints(checkpoints);
+            Set<String> unique = new HashSet<>();
+            for (String checkpoint : checkpoints) {
+                if (!unique.add(checkpoint)) {
+                    throw new IllegalArgumentException("Checkpoint name used twice in workflow " + name + ": " + checkpoint);
+                }
+            }
+            return new Workflow(name, top);
+        }
+    }
+}
@@ -0,0 +1,75 @@
+package com.functional.workflow;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Outcome of every path of a workflow run.
+ */
+public final class WorkflowResult {
+    private final String workflow;
+    private final List<PathResult> paths;
+
+    WorkflowResult(String workflow, List<PathResult> paths) {
+        this.workflow = workflow;
+        this.paths = List.copyOf(paths);
+    }
+
+    public List<PathResult> getPaths() {
+        return paths;
+    }
+
+    public boolean isPassed() {
+        return paths.stream().allMatch(path -> path.status() == Status.PASSED);
+    }
+
+    /**
+     * Fails with one line per path that did not pass, the first failure as the cause.
+     */
+    public void assertPassed() {
+        if (isPassed()) {
+            return;
+        }
+        StringBuilder message = new StringBuilder("Workflow '" + workflow + "' had failing paths:");
+        Throwable cause = null;
+        for (PathResult path : paths) {
+            if (path.status() != Status.PASSED) {
+                message.append(System.lineSeparator()).append("  ").append(path.status()).append(' ')
+                        .append(path.path()).append(" at step '").append(path.failedStep()).append("'");
+                if (path.failure() != null) {
+                    message.append(": ").append(path.failure());
+                    cause = cause == null ? path.failure() : cause;
+                }
+            }
+        }
+        throw new AssertionError(message.toString(), cause);
+    }
+
+    public enum Status {
+        PASSED,
+        FAILED,
+        /** Not run because a step shared with a failed path failed first. */
+        SKIPPED
+    }
+
+    /**
+     * @param failedStep  step that failed, for FAILED and SKIPPED paths
+     * @param resumedFrom last checkpoint the path was rebuilt from after a failure or from an
+     *                    earlier run, or null
+     */
+    public record PathResult(String path, Status status, String failedStep, Throwable failure,
+                             String resumedFrom, long millis) {
+
+        public Map<String, Object> toMap() {
+            Map<String, Object> map = new LinkedHashMap<>();
+            map.put("path", path);
+            map.put("status", status.name());
+            map.put("failedStep", failedStep);
+            map.put("failure", failure == null ? null : failure.toString());
+            map.put("resumedFrom", resumedFrom);
+            map.put("ms", millis);
+            return map;
+        }
+    }
+}
@@ -0,0 +1,330 @@
+package com.functional.workflow;
+
+import com.functional.config.ConfigManager;
+import com.functional.driver.DriverLease;
+import com.functional.driver.DriverPool;
+import com.functional.metrics.StepMetrics;
+import com.functional.metrics.StepTimer;
+import com.functional.metrics.TestMetricsContext;
+import com.functional.retry.FailureClassifier;
+import com.functional.session.SessionStore;
+import com.functional.utils.AllureAttachments;
+import com.functional.workflow.Workflow.NamedStep;
+import com.functional.workflow.Workflow.Segment;
+import com.functional.workflow.WorkflowResult.PathResult;
+import com.functional.workflow.WorkflowResult.Status;
+import org.openqa.selenium.WebDriver;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.slf4j.MDC;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Runs a {@link Workflow}. The first path runs on the session the caller passes in. At a
+ * fork, every other branch gets its own pooled session restored to the checkpoint and runs in
+ * parallel, as far as the pool has free sessions right now; branches that find none run
+ * afterwards on the forking session, restored to the same checkpoint. Nothing ever waits for
+ * a session another path holds, so a fork cannot deadlock the pool.
+ * <p>
+ * Checkpoints are also written to a {@link CheckpointStore}. A segment that fails for a
+ * transient reason ({@link FailureClassifier}) is rerun from its starting checkpoint in a new
+ * session up to {@code workflow.resume.attempts} times. With {@code workflow.resume} on, a run
+ * skips every segment whose checkpoint an earlier failed run saved and starts from the deepest
+ * one. A fully passing run deletes its checkpoints.
+ */
+public final class WorkflowRunner {
+    private static final Logger logger = LoggerFactory.getLogger(WorkflowRunner.class);
+
+    private final DriverPool pool;
+    private final CheckpointStore store;
+    private final boolean resume;
+    private final int resumeAttempts;
+
+    public WorkflowRunner(DriverPool pool, CheckpointStore store, boolean resume, int resumeAttempts) {
+        this.pool = pool;
+        this.store = store;
+        this.resume = resume;
+        this.resumeAttempts = resumeAttempts;
+    }
+
+    public static WorkflowRunner fromConfig(ConfigManager config) {
+        return new WorkflowRunner(DriverPool.getInstance(), CheckpointStore.fromConfig(config),
+                config.isWorkflowResumeEnabled(), config.getWorkflowResumeAttempts());
+    }
+
+    /**
+     * Runs every path of the workflow, starting on {@code driver}, which stays open and owned
+     * by the caller. Path results are attached to the running Allure test.
+     */
+    public WorkflowResult run(Workflow workflow, WebDriver driver) {
+        AtomicInteger threads = new AtomicInteger();
+        ExecutorService forks = new ThreadPoolExecutor(0, Integer.MAX_VALUE, 30, TimeUnit.SECONDS,
+                new SynchronousQueue<>(), task -> {
+                    Thread thread = new Thread(task, "workflow-fork-" + threads.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+        try {
+            Run run = new Run(workflow.getName(), forks, System.nanoTime());
+            List<PathResult> paths;
+            try (Session session = new Session(driver, null)) {
+                paths = run.execute(workflow.getRoot(), session, workflow.getName(), null, null);
+            }
+            WorkflowResult result = new WorkflowResult(workflow.getName(), paths);
+            paths.forEach(path -> logger.info("Workflow path {}: {}{}", path.path(), path.status(),
+                    path.resumedFrom() == null ? "" : " (resumed from '" + path.resumedFrom() + "')"));
+            if (result.isPassed()) {
+                store.clear(workflow.getName());
+            }
+            AllureAttachments.json("Workflow paths", paths.stream().map(PathResult::toMap).toList());
+            return result;
+        } finally {
+            forks.shutdownNow();
+        }
+    }
+
+    /**
+     * State of one {@link #run}.
+     */
+    private final class Run {
+        private final String workflow;
+        private final ExecutorService forks;
+        private final long startNanos;
+
+        Run(String workflow, ExecutorService forks, long startNanos) {
+            this.workflow = workflow;
+            this.forks = forks;
+            this.startNanos = startNanos;
+        }
+
+        /**
+         * Runs the segment and everything below it on {@code session}, forking where it can.
+         * The caller keeps ownership of the session, which may have been swapped for a new one.
+         *
+         * @param start checkpoint the session was restored to before this segment, or null
+         */
+        List<PathResult> execute(Segment segment, Session session, String parentPath,
+                                 Checkpoint start, String resumedFrom) {
+            String path = segment.pathName(parentPath);
+            Checkpoint reached = resume && segment.getCheckpoint() != null
+                    ? store.load(workflow, segment.getCheckpoint()) : null;
+            if (reached != null) {
+                logger.info("{}: skipping to checkpoint '{}' saved by an earlier run", path, reached.name());
+                session.pending = reached;
+                resumedFrom = reached.name();
+            } else {
+                for (int attempt = 0; ; attempt++) {
+                    try {
+                        runSteps(segment, session, path);
+                        if (segment.getCheckpoint() != null) {
+                            reached = capture(segment.getCheckpoint(), session);
+                        }
+                        break;
+                    } catch (StepFailure failure) {
+                        if (attempt >= resumeAttempts || !resumeIn(session, start, failure, path)) {
+                            return failedPaths(segment, parentPath, failure, resumedFrom);
+                        }
+                        resumedFrom = start == null ? null : start.name();
+                    }
+                }
+            }
+
+            List<Segment> children = segment.getChildren();
+            if (children.isEmpty()) {
+                return List.of(new PathResult(path, Status.PASSED, null, null, resumedFrom, elapsedMillis()));
+            }
+            // Results are kept in branch declaration order whichever way each branch runs
+            Map<Integer, Future<List<PathResult>>> forked = new HashMap<>();
+            List<Integer> sequential = new ArrayList<>();
+            for (int i = 1; i < children.size(); i++) {
+                DriverLease lease = pool.tryLease();
+                if (lease == null) {
+                    sequential.add(i);
+                } else {
+                    forked.put(i, fork(children.get(i), lease, path, reached, resumedFrom));
+                }
+            }
+            List<List<PathResult>> branches = new ArrayList<>(Collections.nCopies(children.size(), List.of()));
+            branches.set(0, execute(children.get(0), session, path, reached, resumedFrom));
+            for (int i : sequential) {
+                session.pending = reached;
+                branches.set(i, execute(children.get(i), session, path, reached, resumedFrom));
+            }
+            forked.forEach((i, future) -> branches.set(i, join(future)));
+            return branches.stream().flatMap(List::stream).toList();
+        }
+
+        private Future<List<PathResult>> fork(Segment child, DriverLease lease, String path,
+                                              Checkpoint from, String resumedFrom) {
+            Map<String, String> mdc = MDC.getCopyOfContextMap();
+            // Steps, commands and retries of the fork count toward the test that started the run
+            TestMetricsContext metrics = TestMetricsContext.current();
+            return forks.submit(() -> {
+                if (mdc != null) {
+                    MDC.setContextMap(mdc);
+                }
+                try (TestMetricsContext.Scope ignored = metrics.attach();
+                     Session session = new Session(lease.getDriver(), lease)) {
+                    session.pending = from;
+                    return execute(child, session, path, from, resumedFrom);
+                } finally {
+                    MDC.clear();
+                }
+            });
+        }
+
+        private List<PathResult> join(Future<List<PathResult>> future) {
+            try {
+                return future.get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted while waiting for forked workflow paths", e);
+            } catch (ExecutionException e) {
+                throw new IllegalStateException("Forked workflow path crashed", e.getCause());
+            }
+        }
+
+        private void runSteps(Segment segment, Session session, String path) {
+            WebDriver driver = session.ready();
+            for (NamedStep step : segment.getSteps()) {
+                logger.info("{}: {}", path, step.name());
+                session.dirty = true;
+                try {
+                    step.step().run(driver);
+                } catch (RuntimeException | AssertionError e) {
+                    throw new StepFailure(step.name(), e);
+                }
+            }
+        }
+
+        private Checkpoint capture(String name, Session session) {
+            try (StepTimer ignored = StepMetrics.start("Workflow.captureCheckpoint")) {
+                WebDriver driver = session.ready();
+                Checkpoint checkpoint = new Checkpoint(name, driver.getCurrentUrl(),
+                        SessionStore.getInstance().capture(driver));
+                store.save(workflow, checkpoint);
+                logger.debug("Captured checkpoint '{}' at {}", name, checkpoint.url());
+                return checkpoint;
+            } catch (RuntimeException e) {
+                throw new StepFailure("checkpoint " + name, e);
+            }
+        }
+
+        /**
+         * Prepares the session for another attempt at a failed segment: a new pooled session
+         * when one can be had, otherwise the same one if it is still usable. Returns false when
+         * the failure is not worth another attempt.
+         */
+        private boolean resumeIn(Session session, Checkpoint start, StepFailure failure, String path) {
+            FailureClassifier.Kind kind = FailureClassifier.classify(failure.getCause());
+            if (kind == FailureClassifier.Kind.PERMANENT) {
+                return false;
+            }
+            String from = start == null ? "the first step" : "checkpoint '" + start.name() + "'";
+            if (session.lease != null) {
+                // Give our own session back first, so the new lease can never wait on us
+                session.lease.close();
+                DriverLease lease = pool.lease();
+                session.replace(lease.getDriver(), lease);
+            } else {
+                DriverLease lease = pool.tryLease();
+                if (lease != null) {
+                    session.replace(lease.getDriver(), lease);
+                } else if (kind == FailureClassifier.Kind.SESSION_LOST) {
+                    return false;
+                }
+            }
+            logger.warn("{} failed at '{}' ({}), resuming from {}", path, failure.step, failure.getCause(), from);
+            session.pending = start;
+            return true;
+        }
+
+        private List<PathResult> failedPaths(Segment segment, String parentPath, StepFailure failure, String resumedFrom) {
+            List<String> paths = new ArrayList<>();
+            segment.collectPaths(parentPath, paths);
+            List<PathResult> results = new ArrayList<>();
+            long millis = elapsedMillis();
+            for (int i = 0; i < paths.size(); i++) {
+                results.add(new PathResult(paths.get(i), i == 0 ? Status.FAILED : Status.SKIPPED,
+                        failure.step, i == 0 ? failure.getCause() : null, resumedFrom, millis));
+            }
+            logger.error("{} failed at '{}'", paths.get(0), failure.step, failure.getCause());
+            return results;
+        }
+
+        private long elapsedMillis() {
+            return (System.nanoTime() - startNanos) / 1_000_000;
+        }
+    }
+
+    /**
+     * The browser a path runs on. A checkpoint to start from is restored lazily, right before
+     * the next step needs the browser, so skipping over several saved checkpoints restores
+     * only the last.
+     */
+    private static final class Session implements AutoCloseable {
+        private WebDriver driver;
+        private DriverLease lease;
+        private Checkpoint pending;
+        private boolean dirty;
+
+        Session(WebDriver driver, DriverLease lease) {
+            this.driver = driver;
+            this.lease = lease;
+        }
+
+        WebDriver ready() {
+            if (pending != null) {
+                Checkpoint checkpoint = pending;
+                pending = null;
+                try (StepTimer ignored = StepMetrics.start("Workflow.restoreCheckpoint")) {
+                    if (dirty) {
+                        // Drops what an earlier path left in a reused session, like a pool reset would
+                        DriverPool.clearState(driver);
+                    }
+                    SessionStore.getInstance().restore(driver, checkpoint.state(), checkpoint.url());
+                } catch (RuntimeException e) {
+                    throw new StepFailure("restore checkpoint " + checkpoint.name(), e);
+                }
+            }
+            return driver;
+        }
+
+        void replace(WebDriver newDriver, DriverLease newLease) {
+            if (lease != null) {
+                lease.close();
+            }
+            driver = newDriver;
+            lease = newLease;
+            dirty = false;
+        }
+
+        @Override
+        public void close() {
+            if (lease != null) {
+                lease.close();
+            }
+        }
+    }
+
+    private static final class StepFailure extends RuntimeException {
+        private final String step;
+
+        StepFailure(String step, Throwable cause) {
+            super(step + " failed", cause);
+            this.step = step;
+        }
+    }
+}
@@ -0,0 +1,12 @@
+package com.functional.workflow;
+
+import org.openqa.selenium.WebDriver;
+
+/**
+ * One action of a workflow, usually a page-object call, run against the session the
+ * workflow path is on.
+ */
+@FunctionalInterface
+public interface WorkflowStep {
+    void run(WebDriver driver);
+}
@@ -0,0 +1,72 @@
+package com.functional.tests;
+
+import com.functional.sharding.AllureResultsMerger;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Properties;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+public class AllureResultsMergerTest {
+
+    @Test
+    public void mergesPartitionsAndDeduplicatesAttachments() throws IOException {
+        Path root = Files.createTempDirectory("allure-merge");
+        Path results = root.resolve("allure-results");
+        String first = writeResult(results.resolve("shard-0-fork-1"), "same screenshot", "os=linux");
+        String second = writeResult(results.resolve("shard-1-fork-1"), "same screenshot", "browser=chrome");
+        String third = writeResult(results.resolve("shard-1-fork-2"), "other screenshot", "browser=chrome");
+        Path output = root.resolve("allure-merged");
+
+        AllureResultsMerger.Summary summary = AllureResultsMerger.merge(List.of(results), output);
+
+        Assert.assertEquals(summary.getPartitions(), 3);
+        Assert.assertEquals(summary.getResults(), 3);
+        Assert.assertEquals(summary.getAttachments(), 3);
+        Assert.assertEquals(summary.getUniqueAttachments(), 2);
+        Assert.assertEquals(summary.getDuplicateBytes(), "same screenshot".length());
+        try (Stream<Path> files = Files.list(output)) {
+            Assert.assertEquals(files.filter(file -> file.toString().endsWith("-attachment.png")).count(), 2);
+        }
+
+        String firstSource = attachmentSource(output.resolve(first + "-result.json"));
+        Assert.assertEquals(attachmentSource(output.resolve(second + "-result.json")), firstSource);
+        Assert.assertNotEquals(attachmentSource(output.resolve(third + "-result.json")), firstSource);
+        Assert.assertEquals(Files.readString(output.resolve(firstSource)), "same screenshot");
+
+        Properties environment = new Properties();
+        try (var in = Files.newInputStream(output.resolve("environment.properties"))) {
+            environment.load(in);
+        }
+        Assert.assertEquals(environment.getProperty("os"), "linux");
+        Assert.assertEquals(environment.getProperty("browser"), "chrome");
+
+        // Merging again replaces the earlier output instead of adding to it
+        Assert.assertEquals(AllureResultsMerger.merge(List.of(results), output).getUniqueAttachments(), 2);
+        try (Stream<Path> files = Files.list(output)) {
+            Assert.assertEquals(files.filter(file -> file.toString().endsWith("-result.json")).count(), 3);
+        }
+    }
+
+    private static String writeResult(Path partition, String screenshot, String environment) throws IOException {
+        Files.createDirectories(partition);
+        String uuid = UUID.randomUUID().toString();
+        String attachment = UUID.randomUUID() + "-attachment.png";
+        Files.writeString(partition.resolve(attachment), screenshot);
+        Files.writeString(partition.resolve(uuid + "-result.json"), "{\"uuid\":\"" + uuid + "\",\"attachments\":"
+                + "[{\"name\":\"Page Screenshot\",\"source\":\"" + attachment + "\",\"type\":\"image/png\"}]}");
+        Files.writeString(partition.resolve("environment.properties"), environment);
+        return uuid;
+    }
+
+    private static String attachmentSource(Path result) throws IOException {
+        String json = Files.readString(result);
+        int start = json.indexOf("\"source\":\"") + "\"source\":\"".length();
+        return json.substring(start, json.indexOf('"', start));
+    }
+}
@@ -0,0 +1,67 @@
+package com.functional.tests;
+
+import com.functional.listeners.AllureResultEnricher;
+import io.qameta.allure.Allure;
+import io.qameta.allure.AllureLifecycle;
+import io.qameta.allure.AllureResultsWriter;
+import io.qameta.allure.model.FixtureResult;
+import io.qameta.allure.model.TestResult;
+import io.qameta.allure.model.TestResultContainer;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+public class AllureSuiteSummaryTest {
+
+    @Test
+    public void suiteSummaryIsAttachedToEveryFinishedTest() {
+        CapturingWriter writer = new CapturingWriter();
+        AllureLifecycle previous = Allure.getLifecycle();
+        Allure.setLifecycle(new AllureLifecycle(writer));
+        try {
+            String testUuid = UUID.randomUUID().toString();
+            Allure.getLifecycle().scheduleTestCase(new TestResult().setUuid(testUuid).setName("search"));
+            Allure.getLifecycle().startTestCase(testUuid);
+            Allure.getLifecycle().stopTestCase(testUuid);
+            Allure.getLifecycle().writeTestCase(testUuid);
+
+            AllureResultEnricher.attachSuiteSummary("Suite step latency percentiles",
+                    Map.of("AmazonHomePage.searchProduct", Map.of("p95Ms", 120)));
+        } finally {
+            Allure.setLifecycle(previous);
+        }
+
+        Assert.assertEquals(writer.containers.size(), 1);
+        TestResultContainer container = writer.containers.get(0);
+        Assert.assertTrue(container.getChildren().contains(writer.results.get(0).getUuid()));
+        Assert.assertEquals(container.getAfters().size(), 1);
+        FixtureResult fixture = container.getAfters().get(0);
+        Assert.assertEquals(fixture.getAttachments().size(), 1);
+        Assert.assertEquals(fixture.getAttachments().get(0).getName(), "Suite step latency percentiles");
+        Assert.assertEquals(fixture.getAttachments().get(0).getType(), "application/json");
+    }
+
+    private static final class CapturingWriter implements AllureResultsWriter {
+        final List<TestResult> results = new ArrayList<>();
+        final List<TestResultContainer> containers = new ArrayList<>();
+
+        @Override
+        public void write(TestResult testResult) {
+            results.add(testResult);
+        }
+
+        @Override
+        public void write(TestResultContainer testResultContainer) {
+            containers.add(testResultContainer);
+        }
+
+        @Override
+        public void write(String source, InputStream attachment) {
+        }
+    }
+}
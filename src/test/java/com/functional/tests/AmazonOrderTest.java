@@ -1,110 +1,105 @@
 package com.functional.tests;
 
+import com.functional.config.ConfigManager;
 import com.functional.pages.AmazonHomePage;
 import com.functional.pages.AmazonProductPage;
 import com.functional.pages.AmazonCheckoutPage;
-import com.functional.utils.TestUtils;
+import com.functional.workflow.Workflow;
+import com.functional.workflow.WorkflowResult;
+import com.functional.workflow.WorkflowRunner;
 import io.qameta.allure.*;
-import org.openqa.selenium.WebDriver;
-import org.openqa.selenium.chrome.ChromeDriver;
-import org.openqa.selenium.chrome.ChromeOptions;
-import org.openqa.selenium.chrome.ChromeDriverService;
-import org.openqa.selenium.manager.SeleniumManager;
 import org.testng.Assert;
 import org.testng.annotations.*;
+
 import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
 
 @Feature("Amazon Order Workflow")
-public class AmazonOrderTest {
-    private WebDriver driver;
-    private AmazonHomePage homePage;
-    private AmazonProductPage productPage;
-    private AmazonCheckoutPage checkoutPage;
+public class AmazonOrderTest extends BaseTest {
     private static final String EMAIL = "8294381810";
     private static final String PASSWORD = "Testing@121";
-
-    @BeforeMethod
-    public void setUp() {
-        ChromeOptions options = new ChromeOptions();
-        options.addArguments("--start-maximized");
-        options.addArguments("--disable-notifications");
-        options.addArguments("--disable-popup-blocking");
-        options.addArguments("--remote-allow-origins=*");
-        
-        // Selenium Manager will automatically handle the driver binary
-        driver = new ChromeDriver(options);
-        
-        // Set timeouts
-        driver.manage().timeouts().implicitlyWait(Duration.ofSeconds(10));
-        driver.manage().timeouts().pageLoadTimeout(Duration.ofSeconds(30));
-        
-        // Initialize page objects
-        homePage = new AmazonHomePage(driver);
-        productPage = new AmazonProductPage(driver);
-        checkoutPage = new AmazonCheckoutPage(driver);
-    }
+    private static final List<String> PRICE_LIMITS = List.of("1,000", "1,500", "2,000", "2,500", "3,000");
 
     @Test
     @Story("Complete Order Workflow")
     @Description("Test the complete order workflow from search to order placement and cancellation")
     public void testCompleteOrderWorkflow() {
-        try {
-            // Step 1: Navigate to Amazon.in
-            homePage.navigateToHomePage();
-            Assert.assertTrue(homePage.isHomePageLoaded(), "Homepage should load within 3 seconds");
-
-            // Step 2: Login
-            homePage.login(EMAIL, PASSWORD);
-
-            // Step 3: Search for product
-            homePage.searchProduct("wireless mouse");
-
-            // Step 4: Apply filters
-            productPage.applyBrandFilter();
-            productPage.applyPriceRangeFilter("2,500");
-
-            // Step 5: Select and add to cart
-            productPage.FirstProductAddToCart();
+        // Failure screenshots are taken by TestListener, so there is no catch-and-capture here.
+        // Checkpoints let a transient failure resume from the last one instead of step 1
+        Workflow order = signedInSearch("complete order")
+                .step("apply filters", driver -> {
+                    AmazonProductPage productPage = new AmazonProductPage(driver);
+                    productPage.applyBrandFilter();
+                    productPage.applyPriceRangeFilter("2,500");
+                })
+                .step("add first product to cart", driver -> new AmazonProductPage(driver).FirstProductAddToCart())
+                .checkpoint("cart")
+                .step("proceed to checkout", driver -> new AmazonProductPage(driver).proceedToCheckout())
+                .step("fill shipping address", driver -> new AmazonCheckoutPage(driver).fillShippingAddress(
+                        "Deepak",
+                        "s121",
+                        "up01, laxmi apartment",
+                        "Delhi",
+                        "Delhi",
+                        "110030",
+                        "9876543210"))
+                .step("place COD order", driver -> {
+                    AmazonCheckoutPage checkoutPage = new AmazonCheckoutPage(driver);
+                    checkoutPage.selectCODPayment();
+                    checkoutPage.placeOrder();
+                })
+                // Resuming must never repeat the order placement
+                .checkpoint("order placed")
+                .step("verify order details", driver -> {
+                    AmazonCheckoutPage checkoutPage = new AmazonCheckoutPage(driver);
+                    Assert.assertNotNull(checkoutPage.getOrderNumber(), "Order number should be present");
+                    Assert.assertNotNull(checkoutPage.getDeliveryDate(), "Delivery date should be present");
+                })
+                .step("cancel order", driver -> new AmazonCheckoutPage(driver).cancelOrder())
+                .build();
 
-            // Step 6: Proceed to checkout
-            productPage.proceedToCheckout();
-
-            // Step 7: Fill shipping address
-            checkoutPage.fillShippingAddress(
-                "Deepak",
-                "s121",
-                "up01, laxmi apartment",
-                "Delhi",
-                "Delhi",
-                "110030",
-                "9876543210"
-            );
-
-            // Step 8: Select payment method and place order
-            checkoutPage.selectCODPayment();
-            checkoutPage.placeOrder();
+        WorkflowRunner.fromConfig(ConfigManager.getInstance()).run(order, driver()).assertPassed();
+    }
 
-            // Step 9: Verify order details
-            String orderNumber = checkoutPage.getOrderNumber();
-            String deliveryDate = checkoutPage.getDeliveryDate();
-            Assert.assertNotNull(orderNumber, "Order number should be present");
-            Assert.assertNotNull(deliveryDate, "Delivery date should be present");
-            // Step 10: Cancel order
-            checkoutPage.cancelOrder();
-        } catch (Exception e) {
-            TestUtils.takeScreenshot(driver);
-            throw e;
+    @Test
+    @Story("Search Filters")
+    @Description("Apply each price filter, with and without the brand filter, to one signed-in search")
+    public void testPriceFilterVariants() {
+        // Login and search run once; each variant forks from the search results checkpoint
+        List<Workflow.Builder> variants = new ArrayList<>();
+        for (String price : PRICE_LIMITS) {
+            variants.add(Workflow.branch("price " + price)
+                    .step("apply price filter", driver -> new AmazonProductPage(driver).applyPriceRangeFilter(price)));
+            variants.add(Workflow.branch("brand, price " + price)
+                    .step("apply brand filter", driver -> new AmazonProductPage(driver).applyBrandFilter())
+                    .step("apply price filter", driver -> new AmazonProductPage(driver).applyPriceRangeFilter(price)));
         }
+        Workflow filters = signedInSearch("price filters")
+                .checkpoint("search results")
+                .fork(variants.toArray(Workflow.Builder[]::new))
+                .build();
+
+        WorkflowResult result = WorkflowRunner.fromConfig(ConfigManager.getInstance()).run(filters, driver());
+        Assert.assertEquals(result.getPaths().size(), PRICE_LIMITS.size() * 2);
+        result.assertPassed();
     }
 
-    @AfterMethod(alwaysRun = true)
-    public void tearDown() {
-        if (driver != null) {
-            try {
-                driver.quit();
-            } catch (Exception e) {
-                // Ignore any errors during driver cleanup
-            }
-        }
+    /**
+     * Steps 1-3 shared by the workflows: open the home page, sign in and search, with a
+     * checkpoint once signed in.
+     */
+    private static Workflow.Builder signedInSearch(String name) {
+        return Workflow.builder(name)
+                .step("navigate to home page", driver -> {
+                    AmazonHomePage homePage = new AmazonHomePage(driver);
+                    homePage.navigateToHomePage();
+                    Assert.assertTrue(homePage.isHomePageLoaded(), "Homepage should be loaded");
+                    homePage.assertLoadedWithin(Duration.ofSeconds(3));
+                })
+                // Restores the saved session when there is one
+                .step("log in", driver -> new AmazonHomePage(driver).ensureLoggedIn(EMAIL, PASSWORD))
+                .checkpoint(name + ": signed in")
+                .step("search", driver -> new AmazonHomePage(driver).searchProduct("wireless mouse"));
     }
-} 
\ No newline at end of file
+}
@@ -0,0 +1,24 @@
+package com.functional.tests;
+
+import com.functional.driver.DriverPool;
+import org.openqa.selenium.WebDriver;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+
+public abstract class BaseTest {
+
+    @BeforeMethod(alwaysRun = true)
+    public void acquireDriver() {
+        // Each test thread leases its own pooled session, so methods can run in parallel
+        DriverPool.getInstance().acquire();
+    }
+
+    protected WebDriver driver() {
+        return DriverPool.getInstance().current();
+    }
+
+    @AfterMethod(alwaysRun = true)
+    public void releaseDriver() {
+        DriverPool.getInstance().release();
+    }
+}
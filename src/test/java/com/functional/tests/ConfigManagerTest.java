@@ -0,0 +1,79 @@
+package com.functional.tests;
+
+import com.functional.config.ConfigManager;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+
+public class ConfigManagerTest {
+
+    @Test
+    public void readsBaseFileFromClasspath() {
+        ConfigManager config = ConfigManager.load(new Properties(), Map.of());
+        Assert.assertNull(config.getProfile());
+        Assert.assertEquals(config.getTimeout(), 10);
+        Assert.assertEquals(config.getBrowser(), "chrome");
+        Assert.assertEquals(config.getScreenshotPath(), "target/screenshots");
+    }
+
+    @Test
+    public void layersProfileEnvironmentAndSystemProperties() {
+        Properties system = new Properties();
+        system.setProperty("config.profile", "ci");
+        system.setProperty("wait.polling.millis", "100");
+        system.setProperty("budget.AmazonHomePage.login", "3");
+        system.setProperty("unrelated.key", "ignored");
+        Map<String, String> environment = Map.of(
+                "DRIVER_POOL_SIZE", "3",
+                "WAIT_POLLING_MILLIS", "500");
+
+        ConfigManager config = ConfigManager.load(system, environment);
+
+        Assert.assertEquals(config.getProfile(), "ci");
+        Assert.assertEquals(config.getTimeout(), 20);
+        Assert.assertEquals(config.getDriverPoolSize(), 3);
+        Assert.assertEquals(config.getWaitPollingMillis(), 100);
+        Assert.assertEquals(config.getPropertiesWithPrefix("budget.").get("AmazonHomePage.login"), "3");
+        Assert.assertEquals(config.getPropertiesWithPrefix("budget.").get("mode"), "fail");
+        Assert.assertNull(config.getProperty("unrelated.key"));
+    }
+
+    @Test(expectedExceptions = IllegalStateException.class)
+    public void rejectsUnknownProfile() {
+        ConfigManager.load(new Properties(), Map.of("CONFIG_PROFILE", "missing"));
+    }
+
+    @Test(expectedExceptions = IllegalStateException.class)
+    public void rejectsMalformedTypedValue() {
+        Properties system = new Properties();
+        system.setProperty("timeout.seconds", "ten");
+        ConfigManager.load(system, Map.of());
+    }
+
+    @Test(expectedExceptions = IllegalStateException.class)
+    public void requiresShardHistoryWhenSharding() {
+        Properties system = new Properties();
+        system.setProperty("shard.total", "2");
+        ConfigManager.load(system, Map.of());
+    }
+
+    @Test
+    public void readsShardHistoryWhenSharding() {
+        Properties system = new Properties();
+        system.setProperty("shard.total", "2");
+        system.setProperty("shard.history", "ci-history/shard-0, ci-history/shard-1");
+
+        ConfigManager config = ConfigManager.load(system, Map.of());
+
+        Assert.assertEquals(config.getShardHistory(), List.of(Path.of("ci-history/shard-0"), Path.of("ci-history/shard-1")));
+    }
+
+    @Test(expectedExceptions = UnsupportedOperationException.class)
+    public void isImmutable() {
+        ConfigManager.getInstance().getPropertyNames().clear();
+    }
+}
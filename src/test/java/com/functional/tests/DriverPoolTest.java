@@ -0,0 +1,106 @@
+package com.functional.tests;
+
+import com.functional.driver.DriverLease;
+import com.functional.driver.DriverPool;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.chromium.HasCdp;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.lang.reflect.Proxy;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Leases sessions from a pool of stub drivers that keep a navigation history and record the
+ * DevTools commands a reset sends.
+ */
+public class DriverPoolTest {
+
+    @Test
+    public void releasedSessionIsResetAndReused() {
+        AtomicInteger created = new AtomicInteger();
+        List<Map<String, Object>> cleared = new CopyOnWriteArrayList<>();
+        DriverPool pool = new DriverPool(() -> {
+            created.incrementAndGet();
+            return stubDriver(cleared);
+        }, 1, Duration.ofSeconds(1));
+        try {
+            WebDriver first;
+            try (DriverLease lease = pool.lease()) {
+                first = lease.getDriver();
+                first.get("https://shop.test/cart");
+                first.get("https://pay.test:8443/checkout?order=1");
+                first.get("https://shop.test/thanks");
+            }
+            Assert.assertEquals(pool.getSessionCount(), 1);
+
+            try (DriverLease lease = pool.lease()) {
+                Assert.assertSame(lease.getDriver(), first);
+            }
+            Assert.assertEquals(pool.getSessionCount(), 1);
+            Assert.assertEquals(created.get(), 1);
+            // Each reset clears storage for every origin in the tab's history, never a wildcard
+            Assert.assertEquals(cleared.stream().map(params -> params.get("origin")).toList(), List.of(
+                    "https://shop.test", "https://pay.test:8443", "https://shop.test", "https://pay.test:8443"));
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static WebDriver stubDriver(List<Map<String, Object>> cleared) {
+        List<String> history = new ArrayList<>();
+        return (WebDriver) Proxy.newProxyInstance(DriverPoolTest.class.getClassLoader(),
+                new Class<?>[]{WebDriver.class, JavascriptExecutor.class, HasCdp.class}, (proxy, method, args) -> {
+                    switch (method.getName()) {
+                        case "get":
+                            history.add((String) args[0]);
+                            return null;
+                        case "getWindowHandles":
+                            return Set.of("main");
+                        case "switchTo":
+                            // Enough for the pool to reset the session when it comes back
+                            return Proxy.newProxyInstance(DriverPoolTest.class.getClassLoader(),
+                                    new Class<?>[]{WebDriver.TargetLocator.class}, (locator, call, ignored) -> proxy);
+                        case "executeScript":
+                        case "quit":
+                            return null;
+                        case "executeCdpCommand":
+                            return cdp(history, cleared, (String) args[0], (Map<String, Object>) args[1]);
+                        case "toString":
+                            return "StubDriver";
+                        case "hashCode":
+                            return System.identityHashCode(proxy);
+                        case "equals":
+                            return proxy == args[0];
+                        default:
+                            throw new UnsupportedOperationException(method.getName());
+                    }
+                });
+    }
+
+    private static Map<String, Object> cdp(List<String> history, List<Map<String, Object>> cleared,
+                                           String command, Map<String, Object> parameters) {
+        switch (command) {
+            case "Page.getNavigationHistory":
+                List<Map<String, Object>> entries = new ArrayList<>();
+                entries.add(Map.of("url", "about:blank"));
+                history.forEach(url -> entries.add(Map.of("url", url)));
+                return Map.of("currentIndex", entries.size() - 1, "entries", entries);
+            case "Storage.clearDataForOrigin":
+                cleared.add(parameters);
+                return Map.of();
+            case "Network.clearBrowserCookies":
+                return Map.of();
+            default:
+                throw new UnsupportedOperationException(command);
+        }
+    }
+}
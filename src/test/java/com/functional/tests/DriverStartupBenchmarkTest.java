@@ -0,0 +1,73 @@
+package com.functional.tests;
+
+import com.functional.driver.DriverFactory;
+import com.functional.utils.TestUtils;
+import io.qameta.allure.Description;
+import io.qameta.allure.Feature;
+import org.openqa.selenium.WebDriver;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Arrays;
+
+/**
+ * Compares session startup with a chromedriver process and cold profile per session against
+ * the shared chromedriver and warmed profile template. Not part of testng.xml; run with
+ * -Dtest=DriverStartupBenchmarkTest.
+ */
+@Feature("Driver Startup Benchmark")
+public class DriverStartupBenchmarkTest {
+    private static final int SESSIONS = 5;
+
+    private int serviceStops;
+
+    @Test
+    @Description("Measure per-session startup time before and after the shared driver service")
+    public void compareColdAndFastStartup() throws Exception {
+        // The first fast session pays for binary resolution, the shared service and the template
+        DriverFactory.createChromeDriver(true).quit();
+
+        long[] cold = measure(false);
+        long[] fast = measure(true);
+        DriverFactory.shutdown();
+
+        String report = String.format("%-6s %-10s %-10s %-10s%n", "mode", "median ms", "min ms", "max ms")
+                + line("cold", cold) + line("fast", fast)
+                + String.format("shared chromedriver stopped by a quit: %d of %d%n", serviceStops, SESSIONS);
+        Path file = Paths.get("target/driver-startup-benchmark.txt");
+        Files.createDirectories(file.getParent());
+        Files.writeString(file, report);
+        TestUtils.logInfo("Driver startup benchmark (" + SESSIONS + " sessions each):" + System.lineSeparator() + report);
+
+        // Each fast session must attach to the one chromedriver, not restart it
+        Assert.assertEquals(serviceStops, 0, "Quitting a fast session stopped the shared chromedriver");
+        Assert.assertTrue(median(fast) < median(cold),
+                "Fast startup median " + median(fast) + " ms is not below cold median " + median(cold) + " ms");
+    }
+
+    private long[] measure(boolean fastStartup) {
+        long[] millis = new long[SESSIONS];
+        for (int i = 0; i < SESSIONS; i++) {
+            long start = System.nanoTime();
+            WebDriver driver = DriverFactory.createChromeDriver(fastStartup);
+            millis[i] = (System.nanoTime() - start) / 1_000_000;
+            driver.quit();
+            if (fastStartup && !DriverFactory.isSharedServiceRunning()) {
+                serviceStops++;
+            }
+        }
+        Arrays.sort(millis);
+        return millis;
+    }
+
+    private static long median(long[] millis) {
+        return millis[millis.length / 2];
+    }
+
+    private String line(String mode, long[] millis) {
+        return String.format("%-6s %-10d %-10d %-10d%n", mode, median(millis), millis[0], millis[millis.length - 1]);
+    }
+}
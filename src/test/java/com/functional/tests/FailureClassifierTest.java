@@ -0,0 +1,110 @@
+package com.functional.tests;
+
+import com.functional.metrics.RetryMetrics;
+import com.functional.pages.BasePage;
+import com.functional.retry.FailureClassifier;
+import com.functional.retry.FailureClassifier.Kind;
+import org.openqa.selenium.ElementClickInterceptedException;
+import org.openqa.selenium.NoSuchElementException;
+import org.openqa.selenium.NoSuchSessionException;
+import org.openqa.selenium.StaleElementReferenceException;
+import org.openqa.selenium.TimeoutException;
+import org.testng.Assert;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+public class FailureClassifierTest {
+
+    @BeforeMethod
+    public void resetRetries() {
+        RetryMetrics.startTest();
+    }
+
+    @Test
+    public void classifiesWrappedDriverExceptions() {
+        Assert.assertEquals(FailureClassifier.classify(new StaleElementReferenceException("stale")), Kind.TRANSIENT);
+        Assert.assertEquals(FailureClassifier.classify(new RuntimeException("Failed to add product to cart",
+                new ElementClickInterceptedException("other element would receive the click"))), Kind.TRANSIENT);
+        Assert.assertEquals(FailureClassifier.classify(
+                new TimeoutException("timeout: Timed out receiving message from renderer: 10.000")), Kind.TRANSIENT);
+        Assert.assertEquals(FailureClassifier.classify(new RuntimeException(
+                new NoSuchSessionException("invalid session id"))), Kind.SESSION_LOST);
+    }
+
+    @Test
+    public void neverRetriesAssertionsOrExhaustedWaits() {
+        Assert.assertEquals(FailureClassifier.classify(new AssertionError("expected 1 but found 2")), Kind.PERMANENT);
+        Assert.assertEquals(FailureClassifier.classify(new AssertionError("wrapped",
+                new StaleElementReferenceException("stale"))), Kind.PERMANENT);
+        Assert.assertEquals(FailureClassifier.classify(new TimeoutException(
+                "Expected condition failed: waiting for visibility of element (tried for 10 second(s))")), Kind.PERMANENT);
+        Assert.assertEquals(FailureClassifier.classify(new NoSuchElementException("no such element")), Kind.PERMANENT);
+        Assert.assertEquals(FailureClassifier.classify(null), Kind.PERMANENT);
+    }
+
+    @Test
+    public void retriesTransientStepFailuresInPlace() {
+        RetryingPage page = new RetryingPage();
+        AtomicInteger attempts = new AtomicInteger();
+
+        String text = page.run(() -> {
+            if (attempts.incrementAndGet() < 3) {
+                throw new StaleElementReferenceException("stale");
+            }
+            return "done";
+        });
+
+        Assert.assertEquals(text, "done");
+        Assert.assertEquals(attempts.get(), 3);
+        Assert.assertEquals(RetryMetrics.getTestStepRetryCount(), 2);
+        Assert.assertEquals(RetryMetrics.getTestStepRetries().get(0).step(), "RetryingPage.step");
+    }
+
+    @Test
+    public void stopsAtTheAttemptLimitAndOnPermanentFailures() {
+        RetryingPage page = new RetryingPage();
+        AtomicInteger attempts = new AtomicInteger();
+        Assert.assertThrows(StaleElementReferenceException.class, () -> page.run(() -> {
+            attempts.incrementAndGet();
+            throw new StaleElementReferenceException("stale");
+        }));
+        Assert.assertEquals(attempts.get(), 3);
+
+        attempts.set(0);
+        Assert.assertThrows(NoSuchElementException.class, () -> page.run(() -> {
+            attempts.incrementAndGet();
+            throw new NoSuchElementException("missing");
+        }));
+        Assert.assertEquals(attempts.get(), 1);
+    }
+
+    @Test
+    public void respectsThePerTestRetryBudget() {
+        RetryingPage page = new RetryingPage();
+        for (int i = 0; i < 5; i++) {
+            AtomicInteger attempts = new AtomicInteger();
+            page.run(() -> attempts.incrementAndGet() == 1 ? fail() : "ok");
+        }
+        Assert.assertEquals(RetryMetrics.getTestStepRetryCount(), 5);
+
+        // Budget of 5 is used up, so the next transient failure is not retried
+        Assert.assertThrows(StaleElementReferenceException.class, () -> page.run(FailureClassifierTest::fail));
+    }
+
+    private static String fail() {
+        throw new StaleElementReferenceException("stale");
+    }
+
+    private static final class RetryingPage extends BasePage {
+        RetryingPage() {
+            super(null);
+        }
+
+        String run(Supplier<String> step) {
+            return retryStep("step", "locator", step);
+        }
+    }
+}
@@ -0,0 +1,76 @@
+package com.functional.tests;
+
+import com.functional.fixtures.FixtureServer;
+import com.functional.fixtures.FixtureServer.Mode;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+
+public class FixtureServerTest {
+    private static final Path SEEDED = Paths.get("src/test/resources/fixtures/recorded");
+    private final HttpClient client = HttpClient.newHttpClient();
+
+    @Test
+    public void replaysRecordingsWithSimulatedLatency() throws Exception {
+        FixtureServer server = new FixtureServer(Mode.REPLAY, 0, SEEDED, URI.create("https://www.amazon.in"),
+                Duration.ofMillis(50));
+        server.start();
+        try {
+            long start = System.nanoTime();
+            HttpResponse<String> home = get(server.getBaseUrl() + "/");
+            Assert.assertTrue((System.nanoTime() - start) / 1_000_000 >= 50, "Latency was not simulated");
+            Assert.assertEquals(home.statusCode(), 200);
+            Assert.assertTrue(home.body().contains("twotabsearchtextbox"));
+
+            // No recording for this exact query, so the recording for /s answers
+            HttpResponse<String> search = get(server.getBaseUrl() + "/s?field-keywords=wireless+mouse");
+            Assert.assertEquals(search.statusCode(), 200);
+            Assert.assertTrue(search.body().contains("s-main-slot"));
+
+            Assert.assertEquals(get(server.getBaseUrl() + "/gp/cart").statusCode(), 404);
+        } finally {
+            server.stop();
+        }
+    }
+
+    @Test
+    public void recordsThroughUpstreamAndRewritesLinks() throws Exception {
+        Path upstreamDir = Files.createTempDirectory("fixture-upstream");
+        Path recordDir = Files.createTempDirectory("fixture-recorded");
+        FixtureServer upstream = new FixtureServer(Mode.REPLAY, 0, upstreamDir, URI.create("https://unused.test"),
+                Duration.ZERO);
+        upstream.start();
+        FixtureServer recorder = new FixtureServer(Mode.RECORD, 0, recordDir, URI.create(upstream.getBaseUrl()),
+                Duration.ZERO);
+        recorder.start();
+        try {
+            Files.writeString(upstreamDir.resolve("deals.GET.body"),
+                    "<a href=\"" + upstream.getBaseUrl() + "/cart\">cart</a>");
+            Files.writeString(upstreamDir.resolve("deals.GET.json"), "{\"status\": 200, \"contentType\": \"text/html\"}");
+
+            HttpResponse<String> response = get(recorder.getBaseUrl() + "/deals?page=2");
+
+            Assert.assertEquals(response.statusCode(), 200);
+            Assert.assertEquals(response.body(), "<a href=\"" + recorder.getBaseUrl() + "/cart\">cart</a>");
+            try (var files = Files.list(recordDir)) {
+                Assert.assertEquals(files.filter(file -> file.getFileName().toString().startsWith("deals__")).count(), 2);
+            }
+        } finally {
+            recorder.stop();
+            upstream.stop();
+        }
+    }
+
+    private HttpResponse<String> get(String url) throws IOException, InterruptedException {
+        return client.send(HttpRequest.newBuilder(URI.create(url)).build(), HttpResponse.BodyHandlers.ofString());
+    }
+}
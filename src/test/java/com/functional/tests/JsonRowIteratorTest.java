@@ -0,0 +1,37 @@
+package com.functional.tests;
+
+import com.functional.utils.JsonRowIterator;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+
+public class JsonRowIteratorTest {
+
+    @Test
+    public void streamsRowsOfNamedArray() {
+        List<Map<String, Object>> rows = new ArrayList<>();
+        JsonRowIterator iterator = JsonRowIterator.fromResource("testdata/search_terms.json", "searchTerms");
+        iterator.forEachRemaining(rows::add);
+
+        Assert.assertEquals(rows.size(), 3);
+        Assert.assertEquals(rows.get(0).get("term"), "selenium automation");
+        Assert.assertEquals(((Number) rows.get(2).get("expectedResults")).intValue(), 20);
+        Assert.assertFalse(iterator.hasNext());
+    }
+
+    @Test(expectedExceptions = NoSuchElementException.class)
+    public void failsPastTheEnd() {
+        JsonRowIterator iterator = JsonRowIterator.fromResource("testdata/search_terms.json", "searchTerms");
+        iterator.forEachRemaining(row -> { });
+        iterator.next();
+    }
+
+    @Test(expectedExceptions = IllegalArgumentException.class)
+    public void rejectsMissingArray() {
+        JsonRowIterator.fromResource("testdata/search_terms.json", "products");
+    }
+}
@@ -0,0 +1,51 @@
+package com.functional.tests;
+
+import com.functional.metrics.LatencyHistogram;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+public class LatencyHistogramTest {
+
+    @Test
+    public void reportsPercentilesWithinBucketPrecision() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (long micros = 1; micros <= 10_000; micros++) {
+            histogram.record(micros);
+        }
+        Assert.assertEquals(histogram.getCount(), 10_000);
+        Assert.assertEquals(histogram.getMax(), 10_000);
+        assertWithin(histogram.getPercentile(50), 5_000);
+        assertWithin(histogram.getPercentile(95), 9_500);
+        assertWithin(histogram.getPercentile(99), 9_900);
+        Assert.assertEquals(histogram.getPercentile(100), 10_000);
+    }
+
+    @Test
+    public void keepsSmallValuesExact() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        histogram.record(3);
+        histogram.record(7);
+        histogram.record(12);
+        Assert.assertEquals(histogram.getPercentile(50), 7);
+        Assert.assertEquals(histogram.getPercentile(100), 12);
+    }
+
+    @Test
+    public void clampsOutOfRangeValues() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        histogram.record(-5);
+        histogram.record(Long.MAX_VALUE / 2);
+        Assert.assertEquals(histogram.getPercentile(1), 0);
+        Assert.assertEquals(histogram.getPercentile(100), Long.MAX_VALUE / 2);
+    }
+
+    @Test
+    public void emptyHistogramReportsZero() {
+        Assert.assertEquals(new LatencyHistogram().getPercentile(99), 0);
+    }
+
+    private void assertWithin(long actual, long expected) {
+        Assert.assertTrue(Math.abs(actual - expected) <= expected * 0.07,
+                "Expected ~" + expected + " but was " + actual);
+    }
+}
@@ -0,0 +1,57 @@
+package com.functional.tests;
+
+import com.functional.locators.Locators;
+import com.functional.utils.TestUtils;
+import io.qameta.allure.Description;
+import io.qameta.allure.Feature;
+import org.openqa.selenium.By;
+import org.openqa.selenium.WebDriver;
+import org.testng.annotations.Test;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Map;
+
+/**
+ * Compares lookup latency of the original XPath locators against their compiled CSS form on
+ * the saved search results page. Not part of testng.xml; run with -Dtest=LocatorBenchmarkTest.
+ */
+@Feature("Locator Benchmark")
+public class LocatorBenchmarkTest extends BaseTest {
+    private static final int WARMUP = 20;
+    private static final int ITERATIONS = 200;
+
+    @Test
+    @Description("Measure findElements latency of XPath locators before and after CSS compilation")
+    public void compareXPathAndCssLookup() throws Exception {
+        WebDriver driver = driver();
+        driver.get(getClass().getResource("/fixtures/search-results.html").toString());
+        Locators.loadPageLocators();
+
+        StringBuilder report = new StringBuilder(String.format("%-10s %-10s %s%n", "xpath µs", "css µs", "locator"));
+        for (Map.Entry<String, By> locator : Locators.getCompiled().entrySet()) {
+            if (Locators.getUntranslatable().containsKey(locator.getKey())) {
+                continue;
+            }
+            long xpath = averageLookupMicros(driver, By.xpath(locator.getKey()));
+            long css = averageLookupMicros(driver, locator.getValue());
+            report.append(String.format("%-10d %-10d %s%n", xpath, css, locator.getKey()));
+        }
+        Path file = Paths.get("target/locator-benchmark.txt");
+        Files.createDirectories(file.getParent());
+        Files.writeString(file, report);
+        TestUtils.logInfo("Locator lookup benchmark:" + System.lineSeparator() + report);
+    }
+
+    private long averageLookupMicros(WebDriver driver, By locator) {
+        for (int i = 0; i < WARMUP; i++) {
+            driver.findElements(locator);
+        }
+        long start = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; i++) {
+            driver.findElements(locator);
+        }
+        return (System.nanoTime() - start) / ITERATIONS / 1_000;
+    }
+}
@@ -0,0 +1,62 @@
+package com.functional.tests;
+
+import com.functional.metrics.PageLoadMetrics;
+import com.functional.metrics.PageLoadMetrics.PageLoad;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.util.List;
+import java.util.Map;
+
+public class PageLoadMetricsTest {
+
+    @Test
+    public void convertsBrowserTimings() {
+        PageLoad load = PageLoad.fromMap(Map.of(
+                "url", "https://fixture.test/s?k=mouse",
+                "ttfb", 120.5,
+                "domContentLoaded", 640L,
+                "load", 1800.25,
+                "lcp", 950.0,
+                "cls", 0.0421,
+                "resourceCount", 42L,
+                "transferBytes", 123456L,
+                "slowestResources", List.of(Map.of("name", "app.js", "type", "script", "ms", 300L))));
+
+        Assert.assertEquals(load.loadMs(), 1800.25);
+        Assert.assertEquals(load.domContentLoadedMs(), 640.0);
+        Assert.assertEquals(load.resourceCount(), 42);
+        Assert.assertEquals(load.slowestResources().size(), 1);
+        Assert.assertEquals(load.toMap().get("loadMs"), 1800L);
+        Assert.assertEquals(load.toMap().get("cls"), 0.042);
+    }
+
+    @Test
+    public void treatsMissingValuesAsUnreported() {
+        PageLoad load = PageLoad.fromMap(Map.of("url", "about:blank"));
+        Assert.assertEquals(load.lcpMs(), -1.0);
+        Assert.assertTrue(load.slowestResources().isEmpty());
+    }
+
+    @Test
+    public void keepsLoadsPerTestAndTrendsPerPage() {
+        PageLoadMetrics.startTest();
+        Assert.assertNull(PageLoadMetrics.getLastLoad());
+
+        PageLoadMetrics.record(load("https://trend.test/home?ref=1", 1000));
+        PageLoadMetrics.record(load("https://trend.test/home?ref=2", 3000));
+
+        Assert.assertEquals(PageLoadMetrics.getTestLoads().size(), 2);
+        Assert.assertEquals(PageLoadMetrics.getLastLoad().loadMs(), 3000.0);
+        Map<String, Object> page = PageLoadMetrics.summary().get("trend.test/home");
+        Assert.assertEquals(page.get("loads"), 2L);
+        Assert.assertEquals(page.get("loadMaxMs"), 3000L);
+
+        PageLoadMetrics.startTest();
+        Assert.assertTrue(PageLoadMetrics.getTestLoads().isEmpty());
+    }
+
+    private static PageLoad load(String url, double loadMs) {
+        return new PageLoad(url, 50, loadMs / 2, loadMs, loadMs / 2, 0, 10, 1000, List.of());
+    }
+}
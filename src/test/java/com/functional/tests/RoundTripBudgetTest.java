@@ -0,0 +1,120 @@
+package com.functional.tests;
+
+import com.functional.config.ConfigManager;
+import com.functional.driver.CommandTracer;
+import com.functional.metrics.CommandMetrics;
+import com.functional.pages.AmazonCheckoutPage;
+import com.functional.pages.AmazonHomePage;
+import com.functional.pages.AmazonProductPage;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.support.events.EventFiringDecorator;
+import org.testng.Assert;
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+
+import java.lang.reflect.Proxy;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * Checks every configured round-trip budget against the number of WebDriver commands its
+ * action sends, counted by the same {@link CommandTracer} the suite installs, against a stub
+ * browser on which every wait succeeds at once. That count is the floor a live run can only
+ * exceed, so a budget below it would fail every CI run under {@code budget.mode=fail}.
+ */
+public class RoundTripBudgetTest {
+
+    @DataProvider(name = "actions")
+    public Object[][] actions() {
+        return new Object[][] {
+                {"AmazonHomePage.searchProduct", (Consumer<WebDriver>) driver ->
+                        new AmazonHomePage(driver).searchProduct("wireless mouse")},
+                {"AmazonHomePage.getSearchResults", (Consumer<WebDriver>) driver ->
+                        new AmazonHomePage(driver).getSearchResults()},
+                {"AmazonProductPage.applyPriceRangeFilter", (Consumer<WebDriver>) driver ->
+                        new AmazonProductPage(driver).applyPriceRangeFilter("1,000")},
+                {"AmazonCheckoutPage.fillShippingAddress", (Consumer<WebDriver>) driver ->
+                        new AmazonCheckoutPage(driver).fillShippingAddress("Test User", "1 Main Road", "Flat 2",
+                                "Bengaluru", "Karnataka", "560001", "9999999999")},
+        };
+    }
+
+    @Test(dataProvider = "actions")
+    public void budgetCoversTheCommandsTheActionSends(String step, Consumer<WebDriver> action) {
+        String budget = ConfigManager.getInstance().getPropertiesWithPrefix("budget.").get(step);
+        Assert.assertNotNull(budget, "No budget configured for " + step);
+
+        CommandMetrics.startTest();
+        action.accept(new EventFiringDecorator<>(WebDriver.class, new CommandTracer()).decorate(stubBrowser()));
+        long commands = CommandMetrics.getTestSummary().values().stream()
+                .mapToLong(stats -> (Long) stats.get("commands"))
+                .sum();
+
+        long maxCommands = Long.parseLong(budget.split(",")[0].trim());
+        Assert.assertTrue(commands <= maxCommands, "budget." + step + "=" + maxCommands
+                + " is below the " + commands + " commands the action sends at the very least");
+    }
+
+    @Test
+    public void everyBudgetIsChecked() {
+        List<String> pinned = List.of(actions()).stream().map(row -> (String) row[0]).toList();
+        ConfigManager.getInstance().getPropertiesWithPrefix("budget.").keySet().stream()
+                .filter(step -> !step.equals("mode"))
+                .forEach(step -> Assert.assertTrue(pinned.contains(step), "budget." + step + " has no case here"));
+    }
+
+    /**
+     * A browser where every element is visible and enabled, and every page script answers the
+     * way it would once its condition holds.
+     */
+    private static WebDriver stubBrowser() {
+        WebElement element = (WebElement) Proxy.newProxyInstance(RoundTripBudgetTest.class.getClassLoader(),
+                new Class<?>[]{WebElement.class}, (proxy, method, args) -> switch (method.getName()) {
+                    case "isDisplayed", "isEnabled" -> true;
+                    case "getText", "getTagName", "toString" -> "stub";
+                    case "hashCode" -> System.identityHashCode(proxy);
+                    case "equals" -> proxy == args[0];
+                    default -> null;
+                });
+        return (WebDriver) Proxy.newProxyInstance(RoundTripBudgetTest.class.getClassLoader(),
+                new Class<?>[]{WebDriver.class, JavascriptExecutor.class}, (proxy, method, args) -> {
+                    switch (method.getName()) {
+                        case "findElement":
+                            return element;
+                        case "findElements":
+                            return List.of(element);
+                        case "executeScript":
+                        case "executeAsyncScript":
+                            return scriptResult((String) args[0], element);
+                        case "hashCode":
+                            return System.identityHashCode(proxy);
+                        case "equals":
+                            return proxy == args[0];
+                        case "toString":
+                            return "StubBrowser";
+                        default:
+                            throw new UnsupportedOperationException(method.getName());
+                    }
+                });
+    }
+
+    private static Object scriptResult(String script, WebElement element) {
+        if (script.contains("MutationObserver")) {
+            return element;
+        }
+        if (script.contains("elementFromPoint")) {
+            return "ready";
+        }
+        if (script.contains("maxProbes")) {
+            return Map.of("presses", -30);
+        }
+        if (script.contains("return bounds(el)")) {
+            return Map.of("min", 0, "max", 40, "step", 1, "value", 10, "valueText", "₹1,000");
+        }
+        // Search result extraction, or the list of form fields that matched nothing
+        return List.of();
+    }
+}
@@ -0,0 +1,99 @@
+package com.functional.tests;
+
+import com.functional.pages.AmazonHomePage;
+import com.functional.pages.SearchResult;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.lang.reflect.Proxy;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Reads search results through a stub driver that answers script calls with what the
+ * extraction script returns in the browser.
+ */
+public class SearchResultsTest {
+
+    @Test
+    public void readsEveryResultWithOneScriptCall() {
+        List<Object> items = new ArrayList<>();
+        for (int i = 0; i < 60; i++) {
+            items.add(item("B0FIXTURE" + i, "Wireless Mouse Model " + i, "₹1,295", "4.3 out of 5 stars", i % 10 == 0));
+        }
+        List<String> scripts = new ArrayList<>();
+        AmazonHomePage page = new AmazonHomePage(driver(scripts, items));
+
+        List<SearchResult> results = page.getSearchResults();
+
+        Assert.assertEquals(scripts.size(), 1);
+        Assert.assertEquals(results.size(), 60);
+        Assert.assertEquals(results.get(0),
+                new SearchResult("B0FIXTURE0", "Wireless Mouse Model 0", new BigDecimal("1295"), 4.3, true));
+        Assert.assertEquals(results.stream().filter(SearchResult::sponsored).count(), 6);
+    }
+
+    @Test
+    public void parsesDisplayedPricesAndRatings() {
+        List<Object> items = List.of(
+                item("A", "Keyboard", "₹12,999.00", "4,5 von 5 Sternen", false),
+                item("B", "Unrated", "1,049.", null, false),
+                item("C", "Out of stock", null, "No rating", false));
+        AmazonHomePage page = new AmazonHomePage(driver(new ArrayList<>(), items));
+
+        List<SearchResult> results = page.getSearchResults();
+
+        Assert.assertEquals(results.get(0).price(), new BigDecimal("12999.00"));
+        Assert.assertEquals(results.get(0).rating(), 4.5);
+        Assert.assertEquals(results.get(1).price(), new BigDecimal("1049"));
+        Assert.assertNull(results.get(1).rating());
+        Assert.assertNull(results.get(2).price());
+        Assert.assertNull(results.get(2).rating());
+    }
+
+    @Test
+    public void countsResultsInTheBrowser() {
+        List<String> scripts = new ArrayList<>();
+        AmazonHomePage page = new AmazonHomePage(driver(scripts, 57L));
+
+        Assert.assertEquals(page.getSearchResultsCount(), 57);
+        Assert.assertEquals(scripts.size(), 1);
+        Assert.assertTrue(scripts.get(0).contains("snapshotLength"), "Counts in the page instead of fetching elements");
+    }
+
+    private static Map<String, Object> item(String asin, String title, String price, String rating, boolean sponsored) {
+        Map<String, Object> item = new HashMap<>();
+        item.put("asin", asin);
+        item.put("title", title);
+        item.put("price", price);
+        item.put("rating", rating);
+        item.put("sponsored", sponsored);
+        return item;
+    }
+
+    /**
+     * A driver that records each script it is asked to run and answers with {@code result};
+     * any other command fails the test.
+     */
+    private static WebDriver driver(List<String> scripts, Object result) {
+        return (WebDriver) Proxy.newProxyInstance(SearchResultsTest.class.getClassLoader(),
+                new Class<?>[]{WebDriver.class, JavascriptExecutor.class}, (proxy, method, args) -> {
+                    if (method.getName().equals("executeScript")) {
+                        scripts.add((String) args[0]);
+                        return result;
+                    }
+                    switch (method.getName()) {
+                        case "toString": return "StubDriver";
+                        case "hashCode": return System.identityHashCode(proxy);
+                        case "equals": return proxy == args[0];
+                        default: break;
+                    }
+                    throw new UnsupportedOperationException(method.getName());
+                });
+    }
+}
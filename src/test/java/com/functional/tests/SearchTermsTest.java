@@ -0,0 +1,83 @@
+package com.functional.tests;
+
+import com.functional.config.ConfigManager;
+import com.functional.pages.AmazonHomePage;
+import com.functional.pages.SearchResult;
+import com.functional.utils.JsonRowIterator;
+import io.qameta.allure.Description;
+import io.qameta.allure.Feature;
+import io.qameta.allure.Story;
+import org.testng.Assert;
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Factory;
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+@Feature("Amazon Search")
+public class SearchTermsTest extends BaseTest {
+    private static final String RESOURCE = "testdata/search_terms.json";
+    private static final String ARRAY = "searchTerms";
+
+    private final int firstRow;
+
+    @Factory(dataProvider = "chunks")
+    public SearchTermsTest(int firstRow) {
+        this.firstRow = firstRow;
+    }
+
+    /**
+     * One instance per data.provider.chunk.size rows. TestNG reads a parallel data provider in
+     * full before running any of its rows, so each instance's provider holds only its own chunk
+     * rather than the whole file. Counting the rows streams the file without building them.
+     */
+    @DataProvider(name = "chunks")
+    public static Object[][] chunks() {
+        int chunkSize = ConfigManager.getInstance().getDataProviderChunkSize();
+        int rows;
+        try (JsonRowIterator iterator = JsonRowIterator.fromResource(RESOURCE, ARRAY)) {
+            rows = iterator.skip(Integer.MAX_VALUE);
+        }
+        List<Object[]> chunks = new ArrayList<>();
+        for (int first = 0; first < rows; first += chunkSize) {
+            chunks.add(new Object[] {first});
+        }
+        return chunks.toArray(new Object[0][]);
+    }
+
+    /**
+     * This instance's chunk of rows, run on the data-provider thread pool (sized to the driver
+     * pool by SuiteConfigurer).
+     */
+    @DataProvider(name = "searchTerms", parallel = true)
+    public Object[][] searchTerms() {
+        int chunkSize = ConfigManager.getInstance().getDataProviderChunkSize();
+        List<Object[]> chunk = new ArrayList<>();
+        try (JsonRowIterator rows = JsonRowIterator.fromResource(RESOURCE, ARRAY)) {
+            rows.skip(firstRow);
+            while (chunk.size() < chunkSize && rows.hasNext()) {
+                Map<String, Object> row = rows.next();
+                chunk.add(new Object[] {row.get("term"), ((Number) row.get("expectedResults")).intValue()});
+            }
+        }
+        return chunk.toArray(new Object[0][]);
+    }
+
+    @Test(dataProvider = "searchTerms")
+    @Story("Search results")
+    @Description("Each search term from testdata/search_terms.json returns at least the expected number of results")
+    public void testSearchReturnsExpectedResults(String term, int expectedResults) {
+        AmazonHomePage homePage = new AmazonHomePage(driver());
+        homePage.navigateToHomePage();
+        homePage.searchProduct(term);
+
+        List<SearchResult> results = homePage.getSearchResults();
+        Assert.assertTrue(results.size() >= expectedResults,
+                "Search for '" + term + "' returned " + results.size() + " results, expected at least " + expectedResults);
+        for (SearchResult result : results) {
+            Assert.assertNotNull(result.title(), "Search result without a title: " + result);
+        }
+    }
+}
@@ -0,0 +1,37 @@
+package com.functional.tests;
+
+import com.functional.session.SessionSnapshot;
+import org.openqa.selenium.json.Json;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+public class SessionSnapshotTest {
+
+    @Test
+    public void survivesJsonRoundTrip() {
+        SessionSnapshot snapshot = new SessionSnapshot("https://www.amazon.in",
+                List.of(Map.of("name", "session-id", "value", "123", "domain", ".amazon.in", "httpOnly", true)),
+                Map.of("csm-hit", "tb:abc"), Map.of("nav", "1"), 1_700_000_000_000L);
+
+        Json json = new Json();
+        SessionSnapshot restored = SessionSnapshot.fromJson(json.toType(json.toJson(snapshot.toJson()), Json.MAP_TYPE));
+
+        Assert.assertEquals(restored.origin(), snapshot.origin());
+        Assert.assertEquals(restored.cookies().get(0).get("httpOnly"), true);
+        Assert.assertEquals(restored.localStorage(), snapshot.localStorage());
+        Assert.assertEquals(restored.sessionStorage(), snapshot.sessionStorage());
+        Assert.assertEquals(restored.createdAtMillis(), snapshot.createdAtMillis());
+    }
+
+    @Test
+    public void expiresAfterTtl() {
+        long tenMinutesAgo = System.currentTimeMillis() - Duration.ofMinutes(10).toMillis();
+        SessionSnapshot snapshot = new SessionSnapshot("https://www.amazon.in", List.of(), Map.of(), Map.of(), tenMinutesAgo);
+        Assert.assertTrue(snapshot.isExpired(Duration.ofMinutes(5)));
+        Assert.assertFalse(snapshot.isExpired(Duration.ofMinutes(60)));
+    }
+}
@@ -0,0 +1,75 @@
+package com.functional.tests;
+
+import com.functional.sharding.ShardPlanner;
+import com.functional.sharding.ShardPlanner.Shard;
+import com.functional.sharding.TestDurations;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+public class ShardPlannerTest {
+
+    @Test
+    public void balancesByDuration() {
+        Map<String, Long> durations = Map.of("A#a", 8000L, "A#b", 7000L, "B#c", 6000L,
+                "B#d", 5000L, "C#e", 4000L, "C#f", 2000L);
+        List<Shard> shards = ShardPlanner.plan(durations.keySet(), durations, 2);
+
+        // Longest-first greedy leaves the shards at most one (shortest) method apart
+        long difference = Math.abs(shards.get(0).getEstimatedMillis() - shards.get(1).getEstimatedMillis());
+        Assert.assertTrue(difference <= 2000, "Shards differ by " + difference + " ms");
+        Assert.assertEquals(shards.get(0).getEstimatedMillis() + shards.get(1).getEstimatedMillis(), 32000);
+    }
+
+    @Test
+    public void assignsEveryMethodExactlyOnce() {
+        List<String> methods = List.of("A#a", "A#b", "B#c", "B#d", "C#e");
+        Map<String, Long> durations = Map.of("A#a", 300L, "B#c", 100L);
+        Set<String> seen = new HashSet<>();
+        for (Shard shard : ShardPlanner.plan(methods, durations, 3)) {
+            for (String method : shard.getMethods()) {
+                Assert.assertTrue(seen.add(method), method + " assigned twice");
+            }
+        }
+        Assert.assertEquals(seen, Set.copyOf(methods));
+    }
+
+    @Test
+    public void planIsIndependentOfInputOrder() {
+        Map<String, Long> durations = Map.of("A#a", 500L, "A#b", 500L, "B#c", 500L, "B#d", 200L);
+        List<Shard> first = ShardPlanner.plan(List.of("A#a", "A#b", "B#c", "B#d"), durations, 2);
+        List<Shard> second = ShardPlanner.plan(List.of("B#d", "B#c", "A#b", "A#a"), durations, 2);
+        for (int i = 0; i < 2; i++) {
+            Assert.assertEquals(first.get(i).getMethods(), second.get(i).getMethods());
+        }
+    }
+
+    @Test
+    public void readsTestNgResults() throws IOException {
+        Path dir = Files.createTempDirectory("shard-history");
+        Files.writeString(dir.resolve(TestDurations.RESULTS_FILE), """
+                <testng-results>
+                  <suite name="s"><test name="t">
+                    <class name="com.example.SearchTest">
+                      <test-method is-config="true" name="setUp" duration-ms="900"/>
+                      <test-method name="search" duration-ms="1200"/>
+                      <test-method name="search" duration-ms="800"/>
+                      <test-method name="login" duration-ms="300"/>
+                    </class>
+                  </test></suite>
+                </testng-results>
+                """);
+
+        Map<String, Long> durations = TestDurations.load(List.of(dir, dir.resolve("missing.xml")));
+
+        Assert.assertEquals(durations, Map.of("com.example.SearchTest#search", 2000L,
+                "com.example.SearchTest#login", 300L));
+    }
+}
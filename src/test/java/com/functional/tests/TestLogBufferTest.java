@@ -0,0 +1,40 @@
+package com.functional.tests;
+
+import com.functional.logging.TestLogBuffer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+public class TestLogBufferTest {
+    private static final Logger logger = LoggerFactory.getLogger("com.functional.tests.TestLogBufferTest");
+
+    @Test
+    public void keepsOnlyTheMostRecentEventsOfThisThread() {
+        TestLogBuffer.clear();
+        for (int i = 0; i < 600; i++) {
+            logger.debug("event {}", i);
+        }
+
+        String log = TestLogBuffer.dump();
+
+        Assert.assertTrue(log.lines().noneMatch(line -> line.endsWith("event 99")));
+        Assert.assertTrue(log.contains("event 100"));
+        Assert.assertTrue(log.contains("event 599"));
+        Assert.assertEquals(log.lines().count(), 500);
+        Assert.assertTrue(TestLogBuffer.dump().isEmpty(), "dump() should clear the buffer");
+    }
+
+    @Test
+    public void isolatesThreads() throws InterruptedException {
+        TestLogBuffer.clear();
+        logger.info("from the test thread");
+        Thread other = new Thread(() -> logger.info("from another thread"));
+        other.start();
+        other.join();
+
+        String log = TestLogBuffer.dump();
+        Assert.assertTrue(log.contains("from the test thread"));
+        Assert.assertFalse(log.contains("from another thread"));
+    }
+}
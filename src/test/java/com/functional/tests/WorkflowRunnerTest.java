@@ -0,0 +1,314 @@
+package com.functional.tests;
+
+import com.functional.driver.DriverPool;
+import com.functional.metrics.RetryMetrics;
+import com.functional.metrics.StepMetrics;
+import com.functional.metrics.StepMetrics.StepTiming;
+import com.functional.workflow.CheckpointStore;
+import com.functional.workflow.Workflow;
+import com.functional.workflow.WorkflowResult;
+import com.functional.workflow.WorkflowResult.PathResult;
+import com.functional.workflow.WorkflowResult.Status;
+import com.functional.workflow.WorkflowRunner;
+import org.openqa.selenium.By;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.StaleElementReferenceException;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.chromium.HasCdp;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.io.IOException;
+import java.lang.reflect.Proxy;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Runs workflows against stub sessions that record the navigation and DevTools traffic a
+ * checkpoint capture or restore produces.
+ */
+public class WorkflowRunnerTest {
+
+    @Test
+    public void forksBranchesFromTheCheckpointWithoutRepeatingSharedSteps() throws IOException {
+        AtomicInteger logins = new AtomicInteger();
+        List<String> branchesRun = new CopyOnWriteArrayList<>();
+        StubDriver main = new StubDriver();
+        CountDownLatch mainBranchStarted = new CountDownLatch(1);
+        Workflow workflow = Workflow.builder("filters")
+                .step("log in", driver -> {
+                    logins.incrementAndGet();
+                    driver.get("https://shop.test/home");
+                })
+                .checkpoint("signed in")
+                .fork(holdingBranch("a", branchesRun, main, mainBranchStarted),
+                        holdingBranch("b", branchesRun, main, mainBranchStarted),
+                        holdingBranch("c", branchesRun, main, mainBranchStarted))
+                .build();
+
+        // One pooled session: one branch forks onto it, the other runs after the first on the main session
+        WorkflowResult result = runner(1, false, store()).run(workflow, main);
+
+        result.assertPassed();
+        Assert.assertEquals(workflow.getPaths(), List.of("filters / a", "filters / b", "filters / c"));
+        Assert.assertEquals(result.getPaths().stream().map(PathResult::path).toList(), workflow.getPaths());
+        Assert.assertEquals(logins.get(), 1);
+        Assert.assertEquals(Set.copyOf(branchesRun), Set.of("a", "b", "c"));
+        // The branch that reused the main session had it cleared and restored to the checkpoint
+        Assert.assertTrue(main.cdpCommands.contains("Network.clearBrowserCookies"));
+        Assert.assertTrue(main.cdpCommands.contains("Network.setCookies"));
+        Assert.assertEquals(main.navigations.get(main.navigations.size() - 1), "https://shop.test/home");
+    }
+
+    @Test
+    public void resumesATransientFailureFromTheLastCheckpoint() throws IOException {
+        AtomicInteger logins = new AtomicInteger();
+        AtomicInteger attempts = new AtomicInteger();
+        Workflow workflow = Workflow.builder("flaky")
+                .step("log in", driver -> {
+                    logins.incrementAndGet();
+                    driver.get("https://shop.test/home");
+                })
+                .checkpoint("signed in")
+                .step("add to cart", driver -> {
+                    if (attempts.incrementAndGet() == 1) {
+                        throw new StaleElementReferenceException("stale");
+                    }
+                })
+                .build();
+
+        WorkflowResult result = runner(2, false, store()).run(workflow, new StubDriver());
+
+        result.assertPassed();
+        Assert.assertEquals(logins.get(), 1);
+        Assert.assertEquals(attempts.get(), 2);
+        Assert.assertEquals(result.getPaths().get(0).resumedFrom(), "signed in");
+    }
+
+    @Test
+    public void assertionFailuresFailThePathAndSkipTheOnesSharingTheStep() throws IOException {
+        Workflow workflow = Workflow.builder("broken")
+                .step("log in", driver -> Assert.fail("login page changed"))
+                .checkpoint("signed in")
+                .fork(branch("a", new CopyOnWriteArrayList<>()), branch("b", new CopyOnWriteArrayList<>()))
+                .build();
+
+        WorkflowResult result = runner(2, false, store()).run(workflow, new StubDriver());
+
+        Assert.assertEquals(result.getPaths().stream().map(PathResult::status).toList(),
+                List.of(Status.FAILED, Status.SKIPPED));
+        Assert.assertEquals(result.getPaths().get(0).failedStep(), "log in");
+        Assert.assertNull(result.getPaths().get(0).resumedFrom());
+        AssertionError error = Assert.expectThrows(AssertionError.class, result::assertPassed);
+        Assert.assertTrue(error.getMessage().contains("broken / a"), error.getMessage());
+    }
+
+    @Test
+    public void laterRunResumesFromTheCheckpointsOfAFailedRun() throws IOException {
+        CheckpointStore store = store();
+        AtomicInteger logins = new AtomicInteger();
+        AtomicInteger checkouts = new AtomicInteger();
+        Workflow workflow = Workflow.builder("checkout")
+                .step("log in", driver -> {
+                    logins.incrementAndGet();
+                    driver.get("https://shop.test/cart");
+                })
+                .checkpoint("cart")
+                .step("check out", driver -> {
+                    if (checkouts.incrementAndGet() == 1) {
+                        Assert.fail("checkout button missing");
+                    }
+                })
+                .build();
+
+        Assert.assertFalse(runner(2, true, store).run(workflow, new StubDriver()).isPassed());
+        Assert.assertNotNull(store.load("checkout", "cart"));
+
+        StubDriver second = new StubDriver();
+        WorkflowResult resumed = runner(2, true, store).run(workflow, second);
+
+        resumed.assertPassed();
+        Assert.assertEquals(logins.get(), 1);
+        Assert.assertEquals(resumed.getPaths().get(0).resumedFrom(), "cart");
+        Assert.assertEquals(second.navigations, List.of("https://shop.test/cart"));
+        Assert.assertNull(store.load("checkout", "cart"), "A passing run clears its checkpoints");
+    }
+
+    @Test
+    public void forkedPathsRecordIntoTheTestsMetricsAndRetryBudget() throws IOException {
+        StepMetrics.startTest();
+        RetryMetrics.startTest();
+        RetryMetrics.recordStepRetry("Page.before", "locator", new StaleElementReferenceException("stale"));
+        List<Integer> retriesSeen = new CopyOnWriteArrayList<>();
+        Workflow workflow = Workflow.builder("metrics")
+                .checkpoint("start")
+                .fork(metricsBranch("a", retriesSeen), metricsBranch("b", retriesSeen))
+                .build();
+
+        // The first branch runs on this thread, the second on a fork thread with a pooled session
+        runner(2, false, store()).run(workflow, new StubDriver()).assertPassed();
+
+        List<String> steps = StepMetrics.getTestTimings().stream().map(StepTiming::step).toList();
+        Assert.assertTrue(steps.containsAll(List.of("Branch.a", "Branch.b")), steps.toString());
+        Assert.assertEquals(RetryMetrics.getTestStepRetryCount(), 3);
+        // Each branch saw the retry made before the run, not a fresh budget
+        Assert.assertTrue(retriesSeen.stream().allMatch(count -> count >= 1), retriesSeen.toString());
+    }
+
+    @Test
+    public void rejectsMalformedWorkflows() {
+        Assert.expectThrows(IllegalStateException.class, () -> Workflow.builder("no checkpoint")
+                .step("log in", driver -> { })
+                .fork(Workflow.branch("a")));
+        Assert.expectThrows(IllegalArgumentException.class, () -> Workflow.builder("duplicate")
+                .checkpoint("same")
+                .fork(Workflow.branch("a").checkpoint("same"))
+                .build());
+    }
+
+    private static Workflow.Builder branch(String name, List<String> runs) {
+        return Workflow.branch(name).step("filter " + name, driver -> runs.add(name));
+    }
+
+    /**
+     * A branch that, when forked onto a pooled session, keeps it until a branch has started on
+     * the main session, so the pool stays exhausted while the runner hands out the branches.
+     */
+    private static Workflow.Builder holdingBranch(String name, List<String> runs, WebDriver main,
+                                                  CountDownLatch mainBranchStarted) {
+        return Workflow.branch(name).step("filter " + name, driver -> {
+            runs.add(name);
+            if (driver == main) {
+                mainBranchStarted.countDown();
+                return;
+            }
+            try {
+                Assert.assertTrue(mainBranchStarted.await(10, TimeUnit.SECONDS), "No branch ran on the main session");
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException(e);
+            }
+        });
+    }
+
+    private static Workflow.Builder metricsBranch(String name, List<Integer> retriesSeen) {
+        return Workflow.branch(name).step("measure " + name, driver -> {
+            retriesSeen.add(RetryMetrics.getTestStepRetryCount());
+            StepMetrics.start("Branch." + name).close();
+            RetryMetrics.recordStepRetry("Branch." + name, "locator", new StaleElementReferenceException("stale"));
+        });
+    }
+
+    private static WorkflowRunner runner(int poolSize, boolean resume, CheckpointStore store) {
+        return new WorkflowRunner(new DriverPool(StubDriver::new, poolSize, Duration.ofSeconds(5)), store, resume, 1);
+    }
+
+    private static CheckpointStore store() throws IOException {
+        Path directory = Files.createTempDirectory("workflow-checkpoints");
+        return new CheckpointStore(directory, Duration.ofMinutes(5));
+    }
+
+    private static final class StubDriver implements WebDriver, JavascriptExecutor, HasCdp {
+        private final List<String> navigations = new CopyOnWriteArrayList<>();
+        private final List<String> cdpCommands = new CopyOnWriteArrayList<>();
+        private volatile String url = "about:blank";
+
+        @Override
+        public void get(String url) {
+            this.url = url;
+            navigations.add(url);
+        }
+
+        @Override
+        public String getCurrentUrl() {
+            return url;
+        }
+
+        @Override
+        public Object executeScript(String script, Object... args) {
+            return script.contains("location.origin")
+                    ? Map.of("origin", "https://shop.test", "local", Map.of("cart", "1"), "session", Map.of())
+                    : null;
+        }
+
+        @Override
+        public Object executeAsyncScript(String script, Object... args) {
+            return null;
+        }
+
+        @Override
+        public Map<String, Object> executeCdpCommand(String commandName, Map<String, Object> parameters) {
+            cdpCommands.add(commandName);
+            return switch (commandName) {
+                case "Network.getAllCookies" -> Map.of("cookies", List.of(Map.of(
+                        "name", "session-id", "value", "42", "domain", "shop.test", "path", "/", "session", true)));
+                case "Page.addScriptToEvaluateOnNewDocument" -> Map.of("identifier", "1");
+                default -> Map.of();
+            };
+        }
+
+        @Override
+        public Set<String> getWindowHandles() {
+            return Set.of("main");
+        }
+
+        @Override
+        public TargetLocator switchTo() {
+            // Enough for the pool to reset the session when it comes back
+            return (TargetLocator) Proxy.newProxyInstance(getClass().getClassLoader(),
+                    new Class<?>[]{TargetLocator.class}, (proxy, method, args) -> this);
+        }
+
+        @Override
+        public String getTitle() {
+            return "";
+        }
+
+        @Override
+        public List<WebElement> findElements(By by) {
+            return List.of();
+        }
+
+        @Override
+        public WebElement findElement(By by) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public String getPageSource() {
+            return "";
+        }
+
+        @Override
+        public void close() {
+        }
+
+        @Override
+        public void quit() {
+        }
+
+        @Override
+        public String getWindowHandle() {
+            return "main";
+        }
+
+        @Override
+        public Navigation navigate() {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public Options manage() {
+            throw new UnsupportedOperationException();
+        }
+    }
+}
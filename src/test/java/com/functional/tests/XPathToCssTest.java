@@ -0,0 +1,49 @@
+package com.functional.tests;
+
+import com.functional.locators.UntranslatableXPathException;
+import com.functional.locators.XPathToCss;
+import org.testng.Assert;
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+
+public class XPathToCssTest {
+
+    @DataProvider
+    public Object[][] translatable() {
+        return new Object[][] {
+            {"//input[@name='placeYourOrder1']", "input[name='placeYourOrder1']"},
+            {"//input[@type='text' and contains(@placeholder, 'Search')]", "input[type='text'][placeholder*='Search']"},
+            {"//div[contains(@class, 'order-number')]//span", "div[class*='order-number'] span"},
+            {"//ul/li[@data-x]", "ul > li[data-x]"},
+            {"//input[@type='email' or @id='ap_email']", "input[type='email'], input[id='ap_email']"},
+            {"//input[@type='submit' and (contains(@id,'a') or starts-with(@class,'b'))]",
+                "input[type='submit'][id*='a'], input[type='submit'][class^='b']"},
+            {"//a[not(@href)]", "a:not([href])"},
+            {"//*[@value=\"it's\"]", "*[value='it\\'s']"},
+            {"//div[contains(@class, '')]", "div"},
+        };
+    }
+
+    @Test(dataProvider = "translatable")
+    public void translatesSupportedXPath(String xpath, String css) {
+        Assert.assertEquals(XPathToCss.translate(xpath), css);
+    }
+
+    @DataProvider
+    public Object[][] untranslatable() {
+        return new Object[][] {
+            {"//span[text()='Brands']/following::span[contains(text(), 'Logitech')]"},
+            {"//span[text()='Price']/parent::div"},
+            {"//span[@id='x']/../..//input"},
+            {"(//div[@data-component-type='s-search-result'])[1]//h2"},
+            {"//li[2]"},
+            {"/html/body"},
+            {"//input[@type!='hidden']"},
+        };
+    }
+
+    @Test(dataProvider = "untranslatable", expectedExceptions = UntranslatableXPathException.class)
+    public void rejectsXPathWithoutCssEquivalent(String xpath) {
+        XPathToCss.translate(xpath);
+    }
+}